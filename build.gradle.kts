@@ -11,8 +11,16 @@ android {
     buildFeatures {
         viewBinding = true
     }
+
+    testOptions {
+        // the layout pass tests inflate the state views with Robolectric.
+        unitTests.isIncludeAndroidResources = true
+    }
 }
 
+/* the JMH bytecode generator, it only runs in jmhGenerate and is not a dependency of the library or the tests. */
+val jmhGenerator: Configuration by configurations.creating
+
 dependencies {
     //  base
     api(libs.base.arch.core)
@@ -42,4 +50,81 @@ dependencies {
     ksp(libs.airbnb.epoxy.processor)
     // log
     implementation(libs.jakewharton.timber)
+    // the generated change payloads of the tests, the processor is the nested payload-processor project.
+    kspTest(project("${project.path}:payload-processor"))
+    // benchmark
+    testImplementation(libs.androidx.paging.runtime)
+    testImplementation(libs.jmh.core)
+    jmhGenerator(libs.jmh.generator.bytecode)
+    // layout pass tests
+    testImplementation(libs.junit)
+    testImplementation(libs.androidx.test.core)
+    testImplementation(libs.androidx.test.ext.junit)
+    testImplementation(libs.robolectric)
+}
+
+/* the unit test classes and their dependencies, the benchmarks are compiled with the unit tests. */
+val unitTestClasspath = files(provider { tasks.named<Test>("testDebugUnitTest").get().classpath })
+
+val jmhGeneratedSources = layout.buildDirectory.dir("generated/jmh/sources")
+val jmhGeneratedResources = layout.buildDirectory.dir("generated/jmh/resources")
+val jmhGeneratedClasses = layout.buildDirectory.dir("generated/jmh/classes")
+
+/** Generates the JMH harness from the compiled benchmark classes, so the unit tests need no annotation processing. */
+val jmhGenerate = tasks.register<JavaExec>("jmhGenerate") {
+    group = "verification"
+    description = "Generates the JMH harness of the benchmarks."
+    dependsOn("compileDebugUnitTestSources")
+    classpath = jmhGenerator + unitTestClasspath
+    mainClass.set("org.openjdk.jmh.generators.bytecode.JmhBytecodeGenerator")
+    // the benchmarks are written in Kotlin, so the classes to scan are the output of compileDebugUnitTestKotlin.
+    val benchmarkClasses = layout.buildDirectory.dir("tmp/kotlin-classes/debugUnitTest")
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(
+            benchmarkClasses.get().asFile.path,
+            jmhGeneratedSources.get().asFile.path,
+            jmhGeneratedResources.get().asFile.path,
+            "reflection",
+        )
+    })
+    outputs.dirs(jmhGeneratedSources, jmhGeneratedResources)
+    doFirst {
+        delete(jmhGeneratedSources, jmhGeneratedResources)
+    }
+}
+
+val jmhCompileGenerated = tasks.register<JavaCompile>("jmhCompileGenerated") {
+    group = "verification"
+    description = "Compiles the generated JMH harness of the benchmarks."
+    dependsOn(jmhGenerate)
+    source(jmhGeneratedSources)
+    classpath = unitTestClasspath
+    destinationDirectory.set(jmhGeneratedClasses)
+    sourceCompatibility = JavaVersion.VERSION_17.toString()
+    targetCompatibility = JavaVersion.VERSION_17.toString()
+}
+
+/**
+ * Runs the JMH benchmarks in `src/test/java/com/android/base/fragment/benchmark` on the JVM, the throughput and the
+ * allocation rate (`gc.alloc.rate.norm`) of every operation are reported. Run some of them with a regular expression:
+ *
+ * ```
+ * ./gradlew jvmBenchmark -Pjmh.include=ListStateBenchmark
+ * ```
+ */
+tasks.register<JavaExec>("jvmBenchmark") {
+    group = "verification"
+    description = "Runs the JMH benchmarks of the list and paging state pipelines on the JVM."
+    dependsOn(jmhCompileGenerated)
+    classpath = files(jmhGeneratedClasses, jmhGeneratedResources) + unitTestClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+
+    val include = providers.gradleProperty("jmh.include")
+    val resultFile = layout.buildDirectory.file("reports/jmh/results.json")
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOfNotNull(include.orNull) + listOf("-prof", "gc", "-rf", "json", "-rff", resultFile.get().asFile.path)
+    })
+    doFirst {
+        resultFile.get().asFile.parentFile.mkdirs()
+    }
 }
\ No newline at end of file
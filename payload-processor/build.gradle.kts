@@ -0,0 +1,15 @@
+plugins {
+    kotlin("jvm")
+}
+
+/*
+ * The KSP processor of `@ChangePayloads`, it runs in the compiler, so it is a plain JVM module. Include it with
+ * `include("<the path of the fragment module>:payload-processor")` in the settings.
+ */
+kotlin {
+    jvmToolchain(17)
+}
+
+dependencies {
+    implementation(libs.google.ksp.api)
+}
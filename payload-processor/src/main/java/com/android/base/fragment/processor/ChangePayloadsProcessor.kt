@@ -0,0 +1,155 @@
+package com.android.base.fragment.processor
+
+import com.google.devtools.ksp.getVisibility
+import com.google.devtools.ksp.processing.CodeGenerator
+import com.google.devtools.ksp.processing.Dependencies
+import com.google.devtools.ksp.processing.KSPLogger
+import com.google.devtools.ksp.processing.Resolver
+import com.google.devtools.ksp.processing.SymbolProcessor
+import com.google.devtools.ksp.processing.SymbolProcessorEnvironment
+import com.google.devtools.ksp.processing.SymbolProcessorProvider
+import com.google.devtools.ksp.symbol.KSAnnotated
+import com.google.devtools.ksp.symbol.KSClassDeclaration
+import com.google.devtools.ksp.symbol.Modifier
+import com.google.devtools.ksp.symbol.Visibility
+import com.google.devtools.ksp.validate
+
+class ChangePayloadsProcessorProvider : SymbolProcessorProvider {
+
+    override fun create(environment: SymbolProcessorEnvironment): SymbolProcessor {
+        return ChangePayloadsProcessor(environment.codeGenerator, environment.logger)
+    }
+
+}
+
+/**
+ * Generates a `DiffUtil.ItemCallback` object for every data class annotated with `@ChangePayloads`, whose payload is a
+ * bitmask of the changed properties of the primary constructor.
+ */
+class ChangePayloadsProcessor(
+    private val codeGenerator: CodeGenerator,
+    private val logger: KSPLogger,
+) : SymbolProcessor {
+
+    override fun process(resolver: Resolver): List<KSAnnotated> {
+        val deferred = ArrayList<KSAnnotated>()
+        for (symbol in resolver.getSymbolsWithAnnotation(ANNOTATION_NAME)) {
+            if (!symbol.validate()) {
+                deferred.add(symbol)
+                continue
+            }
+            if (symbol !is KSClassDeclaration || Modifier.DATA !in symbol.modifiers) {
+                logger.error("@ChangePayloads can only be applied to data classes.", symbol)
+                continue
+            }
+            generate(symbol)
+        }
+        return deferred
+    }
+
+    private fun generate(declaration: KSClassDeclaration) {
+        if (declaration.typeParameters.isNotEmpty()) {
+            logger.error("@ChangePayloads does not support generic classes.", declaration)
+            return
+        }
+        val visibility = when (declaration.getVisibility()) {
+            Visibility.PUBLIC -> ""
+            Visibility.INTERNAL -> "internal "
+            else -> {
+                logger.error("@ChangePayloads requires a public or internal class.", declaration)
+                return
+            }
+        }
+
+        val idName = declaration.annotations
+            .first { it.shortName.asString() == ANNOTATION_SHORT_NAME }
+            .arguments.firstOrNull { it.name?.asString() == "id" }
+            ?.value as? String ?: DEFAULT_ID
+
+        val properties = declaration.primaryConstructor?.parameters.orEmpty()
+            .filter { it.isVal || it.isVar }
+            .mapNotNull { it.name?.asString() }
+        if (idName !in properties) {
+            logger.error("@ChangePayloads: the id property \"$idName\" is not declared in the primary constructor.", declaration)
+            return
+        }
+        val flaggedProperties = properties - idName
+        if (flaggedProperties.size > Int.SIZE_BITS) {
+            logger.error("@ChangePayloads supports at most ${Int.SIZE_BITS} properties besides the id.", declaration)
+            return
+        }
+
+        val packageName = declaration.packageName.asString()
+        // nested classes are referred to by their names relative to the package.
+        val itemName = declaration.qualifiedName!!.asString().removePrefix("$packageName.")
+        val callbackName = itemName.replace('.', '_') + CALLBACK_SUFFIX
+
+        val source = buildSource(packageName, visibility, itemName, callbackName, idName, flaggedProperties)
+        codeGenerator.createNewFile(
+            Dependencies(aggregating = false, declaration.containingFile!!),
+            packageName,
+            callbackName
+        ).use { it.write(source.toByteArray()) }
+    }
+
+    private fun buildSource(
+        packageName: String,
+        visibility: String,
+        itemName: String,
+        callbackName: String,
+        idName: String,
+        properties: List<String>,
+    ): String = buildString {
+        if (packageName.isNotEmpty()) {
+            appendLine("package $packageName")
+            appendLine()
+        }
+        appendLine("import androidx.recyclerview.widget.DiffUtil")
+        appendLine()
+        appendLine("/** Generated for [$itemName] annotated with `@ChangePayloads`, the payload is a mask of the flags below. */")
+        appendLine("${visibility}object $callbackName : DiffUtil.ItemCallback<$itemName>() {")
+        appendLine()
+        properties.forEachIndexed { index, property ->
+            appendLine("    const val ${property.toConstantName()}: Int = 1 shl $index")
+            appendLine()
+        }
+        appendLine("    override fun areItemsTheSame(oldItem: $itemName, newItem: $itemName): Boolean {")
+        appendLine("        return oldItem.$idName == newItem.$idName")
+        appendLine("    }")
+        appendLine()
+        appendLine("    override fun areContentsTheSame(oldItem: $itemName, newItem: $itemName): Boolean {")
+        appendLine("        return oldItem == newItem")
+        appendLine("    }")
+        appendLine()
+        appendLine("    override fun getChangePayload(oldItem: $itemName, newItem: $itemName): Any? {")
+        appendLine("        val mask = changedProperties(oldItem, newItem)")
+        appendLine("        return if (mask == 0) null else mask")
+        appendLine("    }")
+        appendLine()
+        appendLine("    /** The mask of the flags of the properties that differ between [oldItem] and [newItem]. */")
+        appendLine("    fun changedProperties(oldItem: $itemName, newItem: $itemName): Int {")
+        appendLine("        var mask = 0")
+        for (property in properties) {
+            appendLine("        if (oldItem.$property != newItem.$property) {")
+            appendLine("            mask = mask or ${property.toConstantName()}")
+            appendLine("        }")
+        }
+        appendLine("        return mask")
+        appendLine("    }")
+        appendLine()
+        appendLine("}")
+    }
+
+    /* likeCount -> LIKE_COUNT */
+    private fun String.toConstantName(): String {
+        return replace(Regex("([a-z0-9])([A-Z])"), "$1_$2").uppercase()
+    }
+
+    private companion object {
+        const val ANNOTATION_NAME = "com.android.base.fragment.list.paging3.ChangePayloads"
+        const val ANNOTATION_SHORT_NAME = "ChangePayloads"
+        const val DEFAULT_ID = "id"
+        const val CALLBACK_SUFFIX = "DiffCallback"
+    }
+
+}
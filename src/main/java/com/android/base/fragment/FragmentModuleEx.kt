@@ -12,6 +12,7 @@ import com.android.base.fragment.ui.LoadingViewHostFactory
 import com.android.base.fragment.ui.Paging
 import com.android.base.fragment.ui.RefreshLoadMoreViewFactory
 import com.android.base.fragment.ui.RefreshViewFactory
+import com.android.base.fragment.ui.StateMetricsSink
 import com.android.base.fragment.ui.internalLoadingViewHostFactory
 import com.android.base.fragment.ui.internalRetryByAutoRefresh
 import com.ztiany.loadmore.adapter.LoadMode
@@ -65,6 +66,17 @@ class FragmentModuleConfig internal constructor() {
             return RefreshViewFactory.getFactory()
         }
 
+    /**
+     * Receives the state metrics of the screens when their views are destroyed, e.g. the dwell time of loading and the time to the first content.
+     */
+    var stateMetricsSink: StateMetricsSink.Sink?
+        set(value) {
+            StateMetricsSink.registerSink(value)
+        }
+        get() {
+            return StateMetricsSink.getSink()
+        }
+
     /**
      * The way to load more, the default is to automatically load more when sliding to the bottom.
      */
@@ -10,6 +10,10 @@ import androidx.viewbinding.ViewBinding
 import com.android.base.fragment.anim.FragmentTransitionHelper
 import com.android.base.fragment.anim.TransitionEndAction
 import com.android.base.fragment.tool.ReusableView
+import com.android.base.fragment.ui.CommonId
+import com.android.base.fragment.ui.StateLayout
+import com.android.base.fragment.ui.StateMetricsSink
+import com.android.base.fragment.widget.MultiStateLayout
 import com.android.base.viewbinding.inflateBindingWithParameterizedType
 
 /**
@@ -84,6 +88,12 @@ abstract class BaseUIDialogFragment<VB : ViewBinding> : BaseDialogFragment() {
     override fun onDestroyView() {
         super.onDestroyView()
         if (reuseView.destroyView()) {
+            val stateLayout = _vb?.root?.findViewById<View>(CommonId.STATE_ID)
+            (stateLayout as? StateLayout)?.let {
+                StateMetricsSink.dispatchStateMetrics(javaClass.name, it.stateMetrics)
+            }
+            // the view will not be reused, so the state views can be taken by the next screens.
+            (stateLayout as? MultiStateLayout)?.releaseStateViews()
             _vb = null
         }
     }
@@ -0,0 +1,200 @@
+package com.android.base.fragment.list
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.combine
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.flow.mapLatest
+
+/**
+ * Describes how to derive a list from the source list.
+ *
+ * To group the items, put the group key first in the [comparator], for example `compareBy<Item> { it.group }.thenBy { it.name }`.
+ */
+class DerivedListSpec<T>(
+    /** Return true to keep the item. */
+    val filter: ((T) -> Boolean)? = null,
+    /** The order of the derived list. Items that are equal keep their order in the source list. */
+    val comparator: Comparator<in T>? = null,
+)
+
+/**
+ * Derive a list from the [ListState.data] of this flow, for example, to filter and sort a list by the keyword users input.
+ * The result can be handled by [handleListState] directly.
+ *
+ * The derivation is incremental and runs on the [dispatcher]: when the source list is appended or some of its items are
+ * replaced, only the appended or replaced items are filtered and sorted, then merged into the previous result. A new
+ * [query] or a new source list cancels the derivation that is still running.
+ *
+ * Notes: the items are compared by reference to find what changed, so emit new instances for the updated items.
+ *
+ * @param spec create a [DerivedListSpec] for the query. It is only called when the query changes.
+ */
+@OptIn(ExperimentalCoroutinesApi::class)
+fun <T, Q> Flow<ListState<T, *>>.deriveList(
+    query: Flow<Q>,
+    dispatcher: CoroutineDispatcher = Dispatchers.Default,
+    spec: (query: Q) -> DerivedListSpec<T>,
+): Flow<ListState<T, *>> {
+    val source = this
+    return flow {
+        // every collector has its own derivation state.
+        val deriver = IncrementalListDeriver<T, Q>(spec)
+        emitAll(
+            combine(source, query) { state, currentQuery -> state to currentQuery }
+                .mapLatest { (state, currentQuery) ->
+                    val derivedList = deriver.derive(state.data, currentQuery)
+                    SimpleListState(
+                        data = derivedList,
+                        isRefreshing = state.isRefreshing,
+                        refreshError = state.refreshError,
+                        isLoadingMore = state.isLoadingMore,
+                        loadMoreError = state.loadMoreError,
+                        hasMore = state.hasMore,
+                    )
+                }
+                .flowOn(dispatcher)
+        )
+    }
+}
+
+private class IncrementalListDeriver<T, Q>(
+    private val specFactory: (Q) -> DerivedListSpec<T>,
+) {
+
+    private var hasQuery = false
+    private var query: Q? = null
+    private var spec: DerivedListSpec<T> = DerivedListSpec()
+
+    /* The state of the last derivation, they are only replaced when a derivation completes. */
+    private var source: List<T> = emptyList()
+    private var derivedItems: List<T> = emptyList()
+    private var derivedIndices = IntArray(0)
+
+    suspend fun derive(list: List<T>, newQuery: Q): List<T> {
+        val queryChanged = !hasQuery || query != newQuery
+        if (!queryChanged && list === source) {
+            return derivedItems
+        }
+        val newSpec = if (queryChanged) specFactory(newQuery) else spec
+
+        // the items of the previous result that are still valid.
+        val keptItems: List<T>
+        val keptIndices: IntArray
+        val firstNewIndex: Int
+        var replaced: BooleanArray? = null
+
+        if (queryChanged || list.size < source.size) {
+            keptItems = emptyList()
+            keptIndices = IntArray(0)
+            firstNewIndex = 0
+        } else {
+            firstNewIndex = source.size
+            for (index in 0 until firstNewIndex) {
+                if (source[index] !== list[index]) {
+                    (replaced ?: BooleanArray(firstNewIndex).also { replaced = it })[index] = true
+                }
+                checkCancellation(index)
+            }
+            val replacedFlags = replaced
+            if (replacedFlags == null) {
+                keptItems = derivedItems
+                keptIndices = derivedIndices
+            } else {
+                val items = ArrayList<T>(derivedItems.size)
+                val indices = IntArray(derivedIndices.size)
+                for (position in derivedIndices.indices) {
+                    val sourceIndex = derivedIndices[position]
+                    if (!replacedFlags[sourceIndex]) {
+                        indices[items.size] = sourceIndex
+                        items.add(derivedItems[position])
+                    }
+                }
+                keptItems = items
+                keptIndices = indices.copyOf(items.size)
+            }
+        }
+
+        // filter the replaced and the appended items.
+        val filter = newSpec.filter
+        val chunk = ArrayList<IndexedValue<T>>()
+        val replacedFlags = replaced
+        if (replacedFlags != null) {
+            for (index in replacedFlags.indices) {
+                if (replacedFlags[index]) {
+                    collect(list[index], index, filter, chunk)
+                }
+            }
+        }
+        for (index in firstNewIndex until list.size) {
+            collect(list[index], index, filter, chunk)
+            checkCancellation(index)
+        }
+
+        // sort the chunk, then merge it into the kept items, both of them are ordered by (comparator, source index).
+        val comparator = newSpec.comparator
+        if (comparator != null) {
+            chunk.sortWith { o1, o2 -> comparator.compare(o1.value, o2.value) }
+        }
+        currentCoroutineContext().ensureActive()
+
+        val mergedItems = ArrayList<T>(keptItems.size + chunk.size)
+        val mergedIndices = IntArray(keptItems.size + chunk.size)
+        var keptPosition = 0
+        var chunkPosition = 0
+        while (keptPosition < keptItems.size || chunkPosition < chunk.size) {
+            val takeKept = when {
+                chunkPosition >= chunk.size -> true
+                keptPosition >= keptItems.size -> false
+                else -> {
+                    val candidate = chunk[chunkPosition]
+                    val result = comparator?.compare(keptItems[keptPosition], candidate.value) ?: 0
+                    if (result != 0) result < 0 else keptIndices[keptPosition] < candidate.index
+                }
+            }
+            if (takeKept) {
+                mergedIndices[mergedItems.size] = keptIndices[keptPosition]
+                mergedItems.add(keptItems[keptPosition])
+                keptPosition++
+            } else {
+                val candidate = chunk[chunkPosition]
+                mergedIndices[mergedItems.size] = candidate.index
+                mergedItems.add(candidate.value)
+                chunkPosition++
+            }
+            checkCancellation(mergedItems.size)
+        }
+
+        // commit
+        hasQuery = true
+        query = newQuery
+        spec = newSpec
+        source = list
+        derivedItems = mergedItems
+        derivedIndices = mergedIndices
+        return mergedItems
+    }
+
+    private fun collect(item: T, index: Int, filter: ((T) -> Boolean)?, chunk: MutableList<IndexedValue<T>>) {
+        if (filter == null || filter(item)) {
+            chunk.add(IndexedValue(index, item))
+        }
+    }
+
+    private suspend fun checkCancellation(index: Int) {
+        if (index and CANCELLATION_CHECK_MASK == 0) {
+            currentCoroutineContext().ensureActive()
+        }
+    }
+
+    companion object {
+        private const val CANCELLATION_CHECK_MASK = 0x3FF
+    }
+
+}
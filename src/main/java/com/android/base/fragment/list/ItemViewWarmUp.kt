@@ -0,0 +1,92 @@
+package com.android.base.fragment.list
+
+import android.util.SparseIntArray
+import androidx.recyclerview.widget.RecyclerView
+import com.android.base.fragment.tool.awaitMainThreadIdle
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import timber.log.Timber
+
+class ItemViewWarmUpConfig internal constructor() {
+
+    internal val viewTypes = SparseIntArray()
+
+    /**
+     * Create the view holders on a background thread. If the creation fails there (some views can only be constructed on
+     * the main thread), the remaining view holders will be created on the main thread when it is idle. Enable it only if
+     * the item views can be inflated concurrently with the main thread, for example, they don't read any main-thread-only
+     * caches. The default is false.
+     */
+    var inflateOffMainThread: Boolean = false
+
+    /** Make sure that there are at least [count] view holders of [viewType] in the [RecyclerView.RecycledViewPool]. */
+    fun viewType(viewType: Int, count: Int) {
+        viewTypes.put(viewType, count)
+    }
+
+}
+
+/**
+ * Inflate item views into the [RecyclerView.RecycledViewPool] of [recyclerView] while the list is still loading, so that the
+ * first frame of content does not have to inflate a whole screen of item views at once.
+ *
+ * The view holders are created by [adapter], and the warm-up stops as soon as [isLoading] returns false.
+ *
+ * Notes: [adapter] must create the view holders with the view types used by the adapter of [recyclerView]. A
+ * [androidx.recyclerview.widget.ConcatAdapter] maps the view types of its adapters to the global ones lazily by default, so
+ * the pooled view holders would never be reused, build it with `isolateViewTypes = false` as
+ * [com.android.base.fragment.list.paging3.withDefaultLoadStateFooter] does.
+ */
+fun CoroutineScope.warmUpItemViews(
+    recyclerView: RecyclerView,
+    adapter: RecyclerView.Adapter<*>,
+    isLoading: () -> Boolean,
+    config: ItemViewWarmUpConfig.() -> Unit,
+): Job {
+    val warmUpConfig = ItemViewWarmUpConfig().apply(config)
+
+    return launch {
+        val pool = recyclerView.recycledViewPool
+        val viewTypes = warmUpConfig.viewTypes
+        var offMainThread = warmUpConfig.inflateOffMainThread
+
+        for (index in 0 until viewTypes.size()) {
+            val viewType = viewTypes.keyAt(index)
+            val count = viewTypes.valueAt(index)
+            if (count > DEFAULT_MAX_SCRAP) {
+                pool.setMaxRecycledViews(viewType, count)
+            }
+
+            var created = 0
+            while (pool.getRecycledViewCount(viewType) < count && isLoading()) {
+                var viewHolder: RecyclerView.ViewHolder? = null
+                if (offMainThread) {
+                    viewHolder = try {
+                        withContext(Dispatchers.Default) { adapter.createViewHolder(recyclerView, viewType) }
+                    } catch (e: Exception) {
+                        Timber.w(e, "warmUpItemViews: can not create view holders off the main thread, fall back to the main thread.")
+                        offMainThread = false
+                        null
+                    }
+                }
+                if (viewHolder == null) {
+                    awaitMainThreadIdle()
+                    viewHolder = adapter.createViewHolder(recyclerView, viewType)
+                }
+                // the data may have arrived while we were creating the view.
+                if (!isLoading()) {
+                    break
+                }
+                pool.putRecycledView(viewHolder)
+                created++
+            }
+            Timber.d("warmUpItemViews: $created view holders of type $viewType were created.")
+        }
+    }
+}
+
+/** The same as the default value of [RecyclerView.RecycledViewPool]. */
+private const val DEFAULT_MAX_SCRAP = 5
@@ -2,6 +2,8 @@ package com.android.base.fragment.list
 
 import com.android.base.core.AndroidSword
 import com.android.base.fragment.list.epoxy.BaseEpoxyListFragment
+import com.android.base.fragment.tool.ChoreographerFrameClock
+import com.android.base.fragment.tool.FrameClock
 import com.android.base.fragment.tool.HandlingProcedure
 import com.android.base.fragment.ui.ListLayoutHost
 import com.android.base.fragment.ui.internalRetryByAutoRefresh
@@ -47,6 +49,7 @@ class ListStateHandlerBuilder internal constructor() {
     internal var onLoadMoreError: (suspend (error: Throwable) -> Unit)? = null
     internal var onLoadMoreCompleted: (suspend (reachedEnd: Boolean) -> Unit)? = null
     internal var showContentLoadingWhenEmpty = !internalRetryByAutoRefresh
+    internal var submitDataFrameClock: FrameClock? = null
 
     fun onOnRefreshResultEmpty(action: suspend HandlingProcedure.() -> Unit) {
         onRefreshEmpty = action
@@ -67,6 +70,16 @@ class ListStateHandlerBuilder internal constructor() {
     fun showContentLoadingWhenEmpty(enable: Boolean) {
         showContentLoadingWhenEmpty = enable
     }
+
+    /**
+     * Submit the list at most once per frame. If the list state is updated several times within a frame (for example,
+     * replace, then dedupe, then update an item), only the latest list will be submitted when the next frame starts. It is
+     * disabled by default, so every list is submitted immediately, the same as
+     * [com.android.base.fragment.list.paging3.PagingDataHandlerBuilder.conflateLoadStatesPerFrame].
+     */
+    fun submitDataPerFrame(frameClock: FrameClock = ChoreographerFrameClock) {
+        submitDataFrameClock = frameClock
+    }
 }
 
 /**
@@ -93,7 +106,10 @@ fun <T> ListLayoutHost<T>.handleListState(
         data.map { it.data }
             .distinctUntilChanged()
             .collectLatest {
-                Timber.d(it.toString())
+                // a newer list cancels the waiting, so only the latest list of a frame is submitted.
+                listHandler.submitDataFrameClock?.awaitFrame()
+                // do not print the list, it formats every item even if no tree is planted.
+                Timber.d("submit a list of size ${it.size}")
                 submitData(it)
             }
     }
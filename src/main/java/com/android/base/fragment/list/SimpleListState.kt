@@ -32,9 +32,11 @@ data class SimpleListState<T>(
     }
 
     override fun appendList(list: List<T>, hasMore: Boolean): SimpleListState<T> {
-        val oldList = data.toMutableList()
-        oldList.addAll(list)
-        return copy(data = oldList, isLoadingMore = false, hasMore = hasMore)
+        // allocate the exact capacity, so that the old items are copied only once.
+        val newList = ArrayList<T>(data.size + list.size)
+        newList.addAll(data)
+        newList.addAll(list)
+        return copy(data = newList, isLoadingMore = false, hasMore = hasMore)
     }
 
     override fun toLoadMoreError(loadMoreError: Throwable): SimpleListState<T> {
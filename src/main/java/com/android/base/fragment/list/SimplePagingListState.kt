@@ -36,11 +36,13 @@ data class AutoPagingListState<T>(
     }
 
     override fun appendList(list: List<T>, hasMore: Boolean): AutoPagingListState<T> {
-        val oldList = data.toMutableList()
-        oldList.addAll(list)
+        // allocate the exact capacity, so that the old items are copied only once.
+        val newList = ArrayList<T>(data.size + list.size)
+        newList.addAll(data)
+        newList.addAll(list)
         /* We pass the loaded list size as the key, but for [AutoPaging], this parameter will just be ignored. */
         paging.onPageAppended(list.size)
-        return copy(data = oldList, isLoadingMore = false, hasMore = hasMore)
+        return copy(data = newList, isLoadingMore = false, hasMore = hasMore)
     }
 
     override fun toLoadMoreError(loadMoreError: Throwable): AutoPagingListState<T> {
@@ -2,7 +2,10 @@ package com.android.base.fragment.list.epoxy
 
 import android.os.Bundle
 import android.view.View
+import androidx.lifecycle.lifecycleScope
+import androidx.recyclerview.widget.RecyclerView
 import androidx.viewbinding.ViewBinding
+import com.airbnb.epoxy.EpoxyModel
 import com.android.base.fragment.base.BaseUIFragment
 import com.android.base.fragment.list.handleListState
 import com.android.base.fragment.ui.CommonId
@@ -11,6 +14,7 @@ import com.android.base.fragment.ui.ListLayoutHost
 import com.android.base.fragment.ui.StateLayoutConfig
 import com.android.base.fragment.ui.internalRetryByAutoRefresh
 import com.ztiany.loadmore.adapter.LoadMoreController
+import kotlinx.coroutines.Job
 import kotlin.properties.Delegates
 
 /**
@@ -61,6 +65,27 @@ abstract class BaseEpoxyListFragment<T, VB : ViewBinding> : BaseUIFragment<VB>()
         }
     }
 
+    /**
+     * Inflate [countPerModel] item views for each of the [prototypes] into the pool of [recyclerView] while the list is empty.
+     * Call it after [setUpList] is called.
+     *
+     * @see warmUpEpoxyItemViews
+     */
+    protected fun warmUpItemViews(
+        recyclerView: RecyclerView,
+        prototypes: List<EpoxyModel<*>>,
+        countPerModel: Int,
+        inflateOffMainThread: Boolean = false,
+    ): Job {
+        return viewLifecycleOwner.lifecycleScope.warmUpEpoxyItemViews(
+            recyclerView,
+            prototypes,
+            countPerModel,
+            { listLayoutHostImpl.isEmpty() },
+            inflateOffMainThread
+        )
+    }
+
     protected open fun onRetry(@StateLayoutConfig.RetryableState state: Int) {
         if (!internalRetryByAutoRefresh) {
             onRefresh()
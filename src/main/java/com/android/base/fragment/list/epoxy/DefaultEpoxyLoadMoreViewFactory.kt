@@ -6,30 +6,53 @@ import android.view.ViewGroup
 import android.widget.ProgressBar
 import android.widget.TextView
 import androidx.constraintlayout.widget.ConstraintLayout
+import com.android.base.fragment.tool.ConfigurationBoundValue
 import com.ztiany.loadmore.adapter.R as LoadMoreR
 
 
 internal var internalDefaultEpoxyLoadMoreViewFactory: EpoxyLoadMoreViewFactory = DefaultEpoxyLoadMoreViewFactory()
 
-internal class DefaultEpoxyLoadMoreViewFactory : EpoxyLoadMoreViewFactory {
+private class LoadingMoreRowResources(
+    val height: Int,
+    val noMoreMsg: String,
+    val failMsg: String,
+    val clickLoadMsg: String,
+)
 
-    override fun inflateLoadingMoreView(container: ConstraintLayout, direction: Int): EpoxyLoadMoreView {
-        val context = container.context
+internal class DefaultEpoxyLoadMoreViewFactory : EpoxyLoadMoreViewFactory {
 
-        container.layoutParams = ViewGroup.LayoutParams(
-            ViewGroup.LayoutParams.MATCH_PARENT, TypedValue.applyDimension(
-                TypedValue.COMPLEX_UNIT_DIP, 40F, context.resources.displayMetrics
-            ).toInt()
+    private val rowResources = ConfigurationBoundValue { context ->
+        LoadingMoreRowResources(
+            TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, 40F, context.resources.displayMetrics).toInt(),
+            context.getString(LoadMoreR.string.adapter_no_more_message),
+            context.getString(LoadMoreR.string.adapter_load_more_fail),
+            context.getString(LoadMoreR.string.adapter_click_load_more)
         )
+    }
 
-        View.inflate(context, com.android.base.fragment.R.layout.base_layout_loading_more_row, container)
-
-        val msgTv = container.findViewById<TextView>(com.android.base.fragment.R.id.base_id_loading_more_item_tv)
-        val progressBar = container.findViewById<ProgressBar>(com.android.base.fragment.R.id.base_id_loading_more_item_pb)
+    override fun inflateLoadingMoreView(container: ConstraintLayout, direction: Int): EpoxyLoadMoreView {
+        val context = container.context
+        val resources = rowResources.get(context)
+
+        container.layoutParams = ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, resources.height)
+
+        val msgTv: TextView
+        val progressBar: ProgressBar
+        val pooledContent = LoadingMoreRowPool.obtain(context)
+        if (pooledContent != null) {
+            progressBar = pooledContent.progressBar
+            msgTv = pooledContent.msgTv
+            container.addView(progressBar)
+            container.addView(msgTv)
+        } else {
+            View.inflate(context, com.android.base.fragment.R.layout.base_layout_loading_more_row, container)
+            msgTv = container.findViewById(com.android.base.fragment.R.id.base_id_loading_more_item_tv)
+            progressBar = container.findViewById(com.android.base.fragment.R.id.base_id_loading_more_item_pb)
+        }
 
-        val noMoreMsg = context.getString(LoadMoreR.string.adapter_no_more_message)
-        val failMsg = context.getString(LoadMoreR.string.adapter_load_more_fail)
-        val clickLoadMsg = context.getString(LoadMoreR.string.adapter_click_load_more)
+        val noMoreMsg = resources.noMoreMsg
+        val failMsg = resources.failMsg
+        val clickLoadMsg = resources.clickLoadMsg
 
         return object : EpoxyLoadMoreView {
 
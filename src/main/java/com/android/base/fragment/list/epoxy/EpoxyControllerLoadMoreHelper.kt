@@ -1,6 +1,7 @@
 package com.android.base.fragment.list.epoxy
 
 import android.view.View
+import androidx.core.os.TraceCompat
 import androidx.recyclerview.widget.RecyclerView
 import com.airbnb.epoxy.EpoxyController
 import com.airbnb.epoxy.OnModelBoundListener
@@ -33,6 +34,15 @@ class EpoxyControllerLoadMoreHelper(
 
     fun EpoxyController.buildLoadMoreModels(size: Int) {
         val controller = loadMoreController ?: return
+        TraceCompat.beginSection("EpoxyControllerLoadMoreHelper#buildLoadMoreModels")
+        try {
+            buildLoadingMoreRow(size, controller)
+        } finally {
+            TraceCompat.endSection()
+        }
+    }
+
+    private fun EpoxyController.buildLoadingMoreRow(size: Int, controller: LoadMoreControllerImpl) {
         loadingMoreRow {
             id("load-more-$size")
             state(this@EpoxyControllerLoadMoreHelper.loadMoreViewState)
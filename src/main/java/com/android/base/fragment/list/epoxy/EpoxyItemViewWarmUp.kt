@@ -0,0 +1,34 @@
+package com.android.base.fragment.list.epoxy
+
+import androidx.recyclerview.widget.RecyclerView
+import com.airbnb.epoxy.EpoxyModel
+import com.airbnb.epoxy.SimpleEpoxyAdapter
+import com.android.base.fragment.list.warmUpItemViews
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+
+/**
+ * Epoxy resolves a view type against the models it currently holds, so an empty controller can not create any view holder.
+ * This method creates them from the [prototypes] instead. The view types of Epoxy models are shared by all adapters, so the
+ * view holders created here can be used by your controller directly.
+ *
+ * @see warmUpItemViews
+ */
+fun CoroutineScope.warmUpEpoxyItemViews(
+    recyclerView: RecyclerView,
+    prototypes: List<EpoxyModel<*>>,
+    countPerModel: Int,
+    isLoading: () -> Boolean,
+    inflateOffMainThread: Boolean = false,
+): Job {
+    val prototypeAdapter = SimpleEpoxyAdapter().apply {
+        addModels(prototypes)
+    }
+
+    return warmUpItemViews(recyclerView, prototypeAdapter, isLoading) {
+        this.inflateOffMainThread = inflateOffMainThread
+        for (position in prototypes.indices) {
+            viewType(prototypeAdapter.getItemViewType(position), countPerModel)
+        }
+    }
+}
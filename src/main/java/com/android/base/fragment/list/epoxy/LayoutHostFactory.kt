@@ -8,6 +8,7 @@ import com.android.base.fragment.ui.RefreshView
 import com.android.base.fragment.ui.RefreshViewFactory
 import com.android.base.fragment.ui.StateLayout
 import com.android.base.fragment.ui.StateLayoutConfig
+import com.android.base.fragment.ui.StateMetrics
 import com.ztiany.loadmore.adapter.LoadMoreController
 import com.ztiany.loadmore.adapter.OnLoadMoreListener
 import timber.log.Timber
@@ -159,6 +160,10 @@ fun <T> buildListLayoutHost(
             return stateLayoutImpl.currentStatus()
         }
 
+        override fun getStateMetrics(): StateMetrics {
+            return stateLayoutImpl.stateMetrics
+        }
+
     }//object end.
 
 }
\ No newline at end of file
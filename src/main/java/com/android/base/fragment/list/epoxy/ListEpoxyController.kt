@@ -1,6 +1,8 @@
 package com.android.base.fragment.list.epoxy
 
+import androidx.core.os.TraceCompat
 import androidx.recyclerview.widget.RecyclerView
+import com.airbnb.epoxy.OnModelBuildFinishedListener
 import com.airbnb.epoxy.TypedEpoxyController
 import com.android.base.core.AndroidSword
 import com.android.base.fragment.ui.ListDataHost
@@ -15,18 +17,54 @@ abstract class ListEpoxyController<T> : TypedEpoxyController<List<T>>(), ListDat
         }
     }
 
+    private var modelBuildListener: ModelBuildListener? = null
+
+    @ModelBuildCause
+    private var pendingBuildCause = ModelBuildCause.DATA_SUBMITTED
+
+    @ModelBuildCause
+    private var lastBuildCause = ModelBuildCause.DATA_SUBMITTED
+    private var lastBuildTimeNanos = 0L
+    private var lastBuildEndNanos = 0L
+    private var lastBuildModelCount = 0
+
+    private val onModelBuildFinishedListener = OnModelBuildFinishedListener {
+        modelBuildListener?.onModelsBuilt(
+            lastBuildCause,
+            lastBuildTimeNanos,
+            System.nanoTime() - lastBuildEndNanos,
+            lastBuildModelCount
+        )
+    }
+
     final override fun buildModels(data: List<T>) {
-        buildListModels(data)
-        if (data.isNotEmpty()) {
-            with(loadMoreHelper) {
-                buildLoadMoreModels(data.size)
+        val listener = modelBuildListener
+        val startNanos = if (listener != null) System.nanoTime() else 0L
+
+        TraceCompat.beginSection("ListEpoxyController#buildModels")
+        try {
+            buildListModels(data)
+            if (data.isNotEmpty()) {
+                with(loadMoreHelper) {
+                    buildLoadMoreModels(data.size)
+                }
             }
+        } finally {
+            TraceCompat.endSection()
+        }
+
+        if (listener != null) {
+            lastBuildEndNanos = System.nanoTime()
+            lastBuildTimeNanos = lastBuildEndNanos - startNanos
+            lastBuildModelCount = modelCountBuiltSoFar
+            lastBuildCause = pendingBuildCause
         }
     }
 
     abstract fun buildListModels(data: List<T>)
 
     override fun submitData(data: List<T>) {
+        pendingBuildCause = ModelBuildCause.DATA_SUBMITTED
         setData(data)
     }
 
@@ -39,6 +77,7 @@ abstract class ListEpoxyController<T> : TypedEpoxyController<List<T>>(), ListDat
     }
 
     private fun requestModelBuildInternally() {
+        pendingBuildCause = ModelBuildCause.LOAD_MORE_STATE_CHANGED
         setData(currentData ?: emptyList())
     }
 
@@ -46,4 +85,16 @@ abstract class ListEpoxyController<T> : TypedEpoxyController<List<T>>(), ListDat
         return loadMoreHelper.setUpLoadMore(recyclerView, triggerLoadMoreByScroll)
     }
 
-}
\ No newline at end of file
+    /**
+     * Set a [ModelBuildListener] to receive the timing of each model build. Nothing will be measured when there is no listener.
+     */
+    fun setModelBuildListener(listener: ModelBuildListener?) {
+        if (listener != null && modelBuildListener == null) {
+            addModelBuildListener(onModelBuildFinishedListener)
+        } else if (listener == null && modelBuildListener != null) {
+            removeModelBuildListener(onModelBuildFinishedListener)
+        }
+        modelBuildListener = listener
+    }
+
+}
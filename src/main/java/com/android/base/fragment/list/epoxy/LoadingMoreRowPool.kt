@@ -0,0 +1,72 @@
+package com.android.base.fragment.list.epoxy
+
+import android.content.Context
+import android.view.View
+import android.widget.ProgressBar
+import android.widget.TextView
+import androidx.constraintlayout.widget.ConstraintLayout
+import com.android.base.fragment.R
+import com.android.base.fragment.tool.runOnMainThreadIdle
+import com.android.base.fragment.widget.ContextViewPool
+import timber.log.Timber
+
+/** The children of a [LoadingMoreRow] created by [DefaultEpoxyLoadMoreViewFactory]. */
+internal class LoadingMoreRowContent(
+    val progressBar: ProgressBar,
+    val msgTv: TextView,
+)
+
+/**
+ * Keeps pre-inflated [LoadingMoreRowContent]s in the [ContextViewPool], so that the footers of the next list screens do
+ * not have to be inflated. The contents are refilled one at a time when the main thread is idle, for the contexts that can
+ * be pooled.
+ *
+ * Notes: it is not thread-safe, use it on the main thread.
+ */
+internal object LoadingMoreRowPool {
+
+    private const val POOL_SIZE_PER_CONTEXT = 2
+
+    private val refillingContexts = HashSet<Context>()
+
+    fun obtain(context: Context): LoadingMoreRowContent? {
+        val content = ContextViewPool.obtain<LoadingMoreRowContent>(context, R.layout.base_layout_loading_more_row)
+        scheduleRefill(context)
+        return content
+    }
+
+    /** Inflate one content at a time when the main thread is idle until the pool is full. */
+    private fun scheduleRefill(context: Context) {
+        if (!isRefillNeeded(context) || !refillingContexts.add(context)) {
+            return
+        }
+        runOnMainThreadIdle {
+            refillingContexts.remove(context)
+            // the context may have been destroyed or the pool may have been filled meanwhile.
+            if (isRefillNeeded(context) &&
+                ContextViewPool.release(context, R.layout.base_layout_loading_more_row, inflateContent(context), POOL_SIZE_PER_CONTEXT)
+            ) {
+                Timber.d("LoadingMoreRowPool: a footer is pre-inflated, pool size = ${ContextViewPool.size(context, R.layout.base_layout_loading_more_row)}.")
+                scheduleRefill(context)
+            }
+        }
+    }
+
+    /* the size is -1 if the context can not be pooled. */
+    private fun isRefillNeeded(context: Context): Boolean {
+        return ContextViewPool.size(context, R.layout.base_layout_loading_more_row) in 0 until POOL_SIZE_PER_CONTEXT
+    }
+
+    private fun inflateContent(context: Context): LoadingMoreRowContent {
+        val scratch = ConstraintLayout(context)
+        View.inflate(context, R.layout.base_layout_loading_more_row, scratch)
+        val content = LoadingMoreRowContent(
+            scratch.findViewById(R.id.base_id_loading_more_item_pb),
+            scratch.findViewById(R.id.base_id_loading_more_item_tv)
+        )
+        // the views keep their layout params, which only depend on the parent.
+        scratch.removeAllViews()
+        return content
+    }
+
+}
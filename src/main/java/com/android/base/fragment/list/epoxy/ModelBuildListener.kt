@@ -0,0 +1,31 @@
+package com.android.base.fragment.list.epoxy
+
+import androidx.annotation.IntDef
+
+/**
+ * Receives the timing of model builds of a [ListEpoxyController]. It is called on the main thread after the diff result
+ * has been dispatched to the adapter.
+ */
+fun interface ModelBuildListener {
+
+    /**
+     * @param cause what triggered the build.
+     * @param buildTimeNanos the time spent in building the models, including the load-more model.
+     * @param diffTimeNanos the time from the end of the build to the dispatch of the diff result.
+     * @param modelCount the number of models built.
+     */
+    fun onModelsBuilt(@ModelBuildCause cause: Int, buildTimeNanos: Long, diffTimeNanos: Long, modelCount: Int)
+
+}
+
+@IntDef(
+    ModelBuildCause.DATA_SUBMITTED,
+    ModelBuildCause.LOAD_MORE_STATE_CHANGED,
+)
+@Retention(AnnotationRetention.SOURCE)
+annotation class ModelBuildCause {
+    companion object {
+        const val DATA_SUBMITTED = 1
+        const val LOAD_MORE_STATE_CHANGED = 2
+    }
+}
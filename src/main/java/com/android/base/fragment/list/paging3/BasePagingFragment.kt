@@ -3,14 +3,20 @@ package com.android.base.fragment.list.paging3
 import android.os.Bundle
 import android.view.View
 import androidx.fragment.app.Fragment
+import androidx.lifecycle.lifecycleScope
+import androidx.paging.PagingDataAdapter
+import androidx.recyclerview.widget.RecyclerView
 import androidx.viewbinding.ViewBinding
 import com.android.base.fragment.base.BaseUIFragment
+import com.android.base.fragment.list.ItemViewWarmUpConfig
+import com.android.base.fragment.list.warmUpItemViews
 import com.android.base.fragment.state.buildStateLayoutHost
 import com.android.base.fragment.ui.CommonId
 import com.android.base.fragment.ui.PagingLayoutHost
 import com.android.base.fragment.ui.StateLayoutConfig
 import com.android.base.fragment.ui.internalRetryByAutoRefresh
 import com.android.base.fragment.ui.toPagingLayoutHost
+import kotlinx.coroutines.Job
 
 /**
  * A [Fragment] works with paging3. use [handlePagingData] to manage you loaded data.
@@ -33,6 +39,20 @@ abstract class BasePagingFragment<VB : ViewBinding> : BaseUIFragment<VB>() {
         }.toPagingLayoutHost()
     }
 
+    /**
+     * Inflate item views into the pool of [recyclerView] while the [adapter] has no items. The [adapter] can be wrapped by
+     * [withDefaultLoadStateFooter] or [withSkeletonPlaceholders], they keep the view types of the [adapter].
+     *
+     * @see com.android.base.fragment.list.warmUpItemViews
+     */
+    protected fun warmUpItemViews(
+        recyclerView: RecyclerView,
+        adapter: PagingDataAdapter<*, *>,
+        config: ItemViewWarmUpConfig.() -> Unit,
+    ): Job {
+        return viewLifecycleOwner.lifecycleScope.warmUpItemViews(recyclerView, adapter, { adapter.itemCount == 0 }, config)
+    }
+
     protected open fun onRetry(@StateLayoutConfig.RetryableState state: Int) {
         if (!internalRetryByAutoRefresh) {
             onRefresh()
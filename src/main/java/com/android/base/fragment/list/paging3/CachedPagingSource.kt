@@ -0,0 +1,139 @@
+package com.android.base.fragment.list.paging3
+
+import androidx.paging.PagingSource
+import androidx.paging.PagingState
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.launch
+import timber.log.Timber
+import kotlin.coroutines.cancellation.CancellationException
+
+/**
+ * A [PagingSource] that writes the loaded pages of [delegate] to the [cache].
+ *
+ * On cold start, the first refresh is served by the cached pages immediately, and the initial page is revalidated by the
+ * [delegate] in the background, then this source is invalidated and the next generation shows the fresh page. Create a
+ * new [CachedPagingSource] with the same [cache] for every generation:
+ *
+ * ```
+ * Pager(PagingConfig(pageSize = 20)) { CachedPagingSource(ArticlePagingSource(api), articleCache) }.flow
+ * ```
+ *
+ * Use [PagingDataHandlerBuilder.onCacheStateChanged] to know whether the displayed content came from the cache.
+ */
+class CachedPagingSource<Key : Any, Value : Any>(
+    private val delegate: PagingSource<Key, Value>,
+    private val cache: PagingPageCache<Key, Value>,
+) : PagingSource<Key, Value>() {
+
+    /** The pages served from the cache by this generation, the appending ones are read from here until revalidated. */
+    @Volatile
+    private var cachedPages: List<CachedPage<Key, Value>>? = null
+
+    private var revalidationJob: Job? = null
+
+    /** The key that the initial page was revalidated with, the next generation will be refreshed with it. */
+    @Volatile
+    private var revalidatedKey: RevalidatedKey<Key>? = null
+
+    override val jumpingSupported: Boolean
+        get() = delegate.jumpingSupported
+
+    override val keyReuseSupported: Boolean
+        get() = delegate.keyReuseSupported
+
+    init {
+        delegate.registerInvalidatedCallback { invalidate() }
+        registerInvalidatedCallback {
+            delegate.invalidate()
+            // a refresh by the user loads the newer pages, the revalidated ones must not overwrite them.
+            revalidationJob?.cancel()
+        }
+    }
+
+    override fun getRefreshKey(state: PagingState<Key, Value>): Key? {
+        // the key of the delegate may differ from the initial key, then the revalidated page would be dropped and loaded again.
+        revalidatedKey?.let {
+            return it.key
+        }
+        return delegate.getRefreshKey(state)
+    }
+
+    override suspend fun load(params: LoadParams<Key>): LoadResult<Key, Value> {
+        when (params) {
+            is LoadParams.Refresh -> {
+                cache.takeRevalidatedPage(params.key)?.let {
+                    cache.onLoadedFromSource()
+                    return it
+                }
+                val coldStartPages = cache.takeColdStartPages()
+                if (coldStartPages != null) {
+                    cachedPages = coldStartPages
+                    revalidate(params)
+                    return coldStartPages.first().page
+                }
+            }
+
+            is LoadParams.Append -> {
+                cachedPages?.firstOrNull { it.loadKey == params.key }?.let {
+                    return it.page
+                }
+            }
+
+            is LoadParams.Prepend -> {
+                // the prepended pages are not cached.
+            }
+        }
+
+        val result = delegate.load(params)
+        if (result is LoadResult.Page) {
+            onLoadedFromSource(params, result)
+        }
+        return result
+    }
+
+    private suspend fun onLoadedFromSource(params: LoadParams<Key>, page: LoadResult.Page<Key, Value>) {
+        if (cachedPages != null) {
+            // the cache will be rewritten by the revalidation, the pages beyond the cache are not written until then.
+            return
+        }
+        when (params) {
+            is LoadParams.Refresh -> {
+                cache.onLoadedFromSource()
+                cache.replace(params.key, page)
+            }
+
+            is LoadParams.Append -> cache.append(params.key, page)
+            is LoadParams.Prepend -> Unit
+        }
+    }
+
+    private fun revalidate(params: LoadParams.Refresh<Key>) {
+        revalidationJob = cache.revalidationScope.launch {
+            val result = try {
+                delegate.load(params)
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                LoadResult.Error(e)
+            }
+            if (result !is LoadResult.Page) {
+                // keep showing the cached pages, the user can still refresh the list.
+                Timber.w("CachedPagingSource: failed to revalidate the cache, result = $result")
+                return@launch
+            }
+            if (invalid) {
+                return@launch
+            }
+            cache.replace(params.key, result)
+            if (!invalid) {
+                revalidatedKey = RevalidatedKey(params.key)
+                cache.onRevalidated(params.key, result)
+                invalidate()
+            }
+        }
+    }
+
+    /** Wraps the key as the initial key is null. */
+    private class RevalidatedKey<Key : Any>(val key: Key?)
+
+}
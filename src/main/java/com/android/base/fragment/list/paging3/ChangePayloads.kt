@@ -0,0 +1,59 @@
+package com.android.base.fragment.list.paging3
+
+import androidx.recyclerview.widget.RecyclerView
+
+/**
+ * Generates a [androidx.recyclerview.widget.DiffUtil.ItemCallback] for the annotated data class, its payload is a bitmask
+ * of the changed properties of the primary constructor, so that your binder can update only the affected views. Add the
+ * processor with `ksp(project(":<this module>:payload-processor"))` to the module declaring the items.
+ *
+ * For `Post`, an object `PostDiffCallback` is generated beside it with a flag constant for every property except [id]:
+ *
+ * ```
+ * @ChangePayloads
+ * data class Post(val id: Long, val likeCount: Int, val avatar: String, val content: String)
+ *
+ * class PostAdapter : PagingDataAdapter<Post, PostViewHolder>(PostDiffCallback) {
+ *
+ *     override fun onBindViewHolder(holder: PostViewHolder, position: Int, payloads: List<Any>) {
+ *         val changed = payloads.changedPropertiesMask()
+ *         if (changed.isPropertyChanged(PostDiffCallback.LIKE_COUNT)) holder.bindLikeCount(item)
+ *         if (changed.isPropertyChanged(PostDiffCallback.AVATAR)) holder.bindAvatar(item)
+ *         ...
+ *     }
+ *
+ * }
+ * ```
+ *
+ * The items are the same if their [id]s are equal, and the contents are the same if they are equal. At most
+ * [Int.SIZE_BITS] properties besides [id] are supported.
+ *
+ * @param id the name of the property identifying the item.
+ */
+@Target(AnnotationTarget.CLASS)
+@Retention(AnnotationRetention.SOURCE)
+annotation class ChangePayloads(val id: String = "id")
+
+/** The mask that stands for all the properties, it means the whole item should be bound. */
+const val ALL_PROPERTIES_CHANGED = -1
+
+/**
+ * Merge the payloads of [RecyclerView.Adapter.onBindViewHolder] created by the callbacks generated for [ChangePayloads].
+ * Returns [ALL_PROPERTIES_CHANGED] if there is no payload or there is a payload of other types.
+ */
+fun List<Any>.changedPropertiesMask(): Int {
+    if (isEmpty()) {
+        return ALL_PROPERTIES_CHANGED
+    }
+    var mask = 0
+    for (index in indices) {
+        val payload = this[index] as? Int ?: return ALL_PROPERTIES_CHANGED
+        mask = mask or payload
+    }
+    return mask
+}
+
+/** @param flag one of the flag constants of the callback generated for [ChangePayloads]. */
+fun Int.isPropertyChanged(flag: Int): Boolean {
+    return this and flag != 0
+}
@@ -0,0 +1,29 @@
+package com.android.base.fragment.list.paging3
+
+/**
+ * Implement it in your list items to let the identity diff callbacks compare the contents by a precomputed hash instead
+ * of calling [Any.equals] on the whole item.
+ *
+ * Compute the hash once, for example in the constructor of a data class, from the properties that are displayed.
+ * Items with different [contentHash]es are treated as different contents without calling [Any.equals], and the items with
+ * the same [contentHash] are still compared by [Any.equals], as different contents may have the same hash.
+ */
+interface ContentHash {
+    val contentHash: Int
+}
+
+/** Rule out the different contents by [ContentHash.contentHash] when both items have it, then compare them by [Any.equals]. */
+internal fun areContentsTheSameByHash(oldItem: Any, newItem: Any): Boolean {
+    if (oldItem === newItem) {
+        return true
+    }
+    if (oldItem is ContentHash && newItem is ContentHash && oldItem.contentHash != newItem.contentHash) {
+        return false
+    }
+    return oldItem == newItem
+}
+
+/* the defaults of the identity diff callbacks, they are recognized by identity and called directly. */
+internal val sameContentsByHash: (Any, Any) -> Boolean = ::areContentsTheSameByHash
+
+internal val noChangePayload: (Any, Any) -> Any? = { _, _ -> null }
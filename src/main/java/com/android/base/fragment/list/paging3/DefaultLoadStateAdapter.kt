@@ -18,6 +18,8 @@ internal class DefaultLoadStateAdapter(
         holder.handleLoadState(loadState, pagingAdapter)
     }
 
+    override fun getStateViewType(loadState: LoadState): Int = VIEW_TYPE_FOOTER
+
     override fun displayLoadStateAsItem(loadState: LoadState): Boolean {
         if (displayLoadStateAsItem != null) {
             return super.displayLoadStateAsItem(loadState) || displayLoadStateAsItem(loadState)
@@ -25,4 +27,9 @@ internal class DefaultLoadStateAdapter(
         return super.displayLoadStateAsItem(loadState) || internalDefaultPagingLoadMoreViewFactory.displayLoadStateAsItem(loadState)
     }
 
+    private companion object {
+        /* distinct from the view types of the paging adapter, as the concat adapter shares the view types. */
+        val VIEW_TYPE_FOOTER = DefaultLoadStateAdapter::class.java.hashCode()
+    }
+
 }
\ No newline at end of file
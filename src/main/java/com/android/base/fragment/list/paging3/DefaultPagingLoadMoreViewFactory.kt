@@ -1,6 +1,5 @@
 package com.android.base.fragment.list.paging3
 
-import android.content.Context
 import android.view.LayoutInflater
 import android.view.View
 import android.view.ViewGroup
@@ -9,49 +8,88 @@ import android.widget.TextView
 import androidx.paging.LoadState
 import androidx.paging.PagingDataAdapter
 import com.android.base.fragment.R
+import com.android.base.fragment.tool.ConfigurationBoundValue
 
 internal var internalDefaultPagingLoadMoreViewFactory: PagingLoadMoreViewFactory = DefaultPagingLoadMoreViewFactory()
 
-private class DefaultPagingLoadMoreViewViewHolder(item: View) : PagingLoadMoreViewViewHolder(item) {
+private class PagingLoadMoreResources(
+    val noMoreMsg: String,
+    val failMsg: String,
+    val loadCompleted: String,
+)
+
+/** The strings are shared by all the footers, and only resolved again when the configuration changes. */
+private val pagingLoadMoreResources = ConfigurationBoundValue { context ->
+    PagingLoadMoreResources(
+        context.getString(com.ztiany.loadmore.adapter.R.string.adapter_no_more_message),
+        context.getString(com.ztiany.loadmore.adapter.R.string.adapter_load_more_fail),
+        context.getString(com.ztiany.loadmore.adapter.R.string.adapter_load_completed)
+    )
+}
+
+private class DefaultPagingLoadMoreViewViewHolder(item: View) : PagingLoadMoreViewViewHolder(item), View.OnClickListener {
 
     private val msgTv = item.findViewById<TextView>(R.id.base_id_loading_more_item_tv)
     private val progressBar = item.findViewById<ProgressBar>(R.id.base_id_loading_more_item_pb)
-    private val context: Context
-        get() = itemView.context
 
-    private val noMoreMsg = context.getString(com.ztiany.loadmore.adapter.R.string.adapter_no_more_message)
-    private val failMsg = context.getString(com.ztiany.loadmore.adapter.R.string.adapter_load_more_fail)
-    private val loadCompleted = context.getString(com.ztiany.loadmore.adapter.R.string.adapter_load_completed)
+    /** The adapter to retry, it is only set when the footer shows an error. */
+    private var retryAdapter: PagingDataAdapter<*, *>? = null
+
+    override fun onClick(v: View) {
+        retryAdapter?.retry()
+    }
 
     override fun handleLoadState(loadState: LoadState, pagingAdapter: PagingDataAdapter<*, *>) {
+        val resources = pagingLoadMoreResources.get(itemView.context)
         when (loadState) {
             is LoadState.Error -> {
-                msgTv.visibility = View.VISIBLE
-                msgTv.text = failMsg
-                progressBar.visibility = View.INVISIBLE
-                itemView.setOnClickListener {
-                    pagingAdapter.retry()
-                }
+                setRetryAdapter(pagingAdapter)
+                msgTv.setVisibilityIfChanged(View.VISIBLE)
+                msgTv.setTextIfChanged(resources.failMsg)
+                progressBar.setVisibilityIfChanged(View.INVISIBLE)
             }
 
             LoadState.Loading -> {
-                itemView.setOnClickListener(null)
-                msgTv.visibility = View.INVISIBLE
-                progressBar.visibility = View.VISIBLE
+                setRetryAdapter(null)
+                msgTv.setVisibilityIfChanged(View.INVISIBLE)
+                progressBar.setVisibilityIfChanged(View.VISIBLE)
             }
 
             is LoadState.NotLoading -> {
-                itemView.setOnClickListener(null)
-                progressBar.visibility = View.INVISIBLE
-                msgTv.visibility = View.VISIBLE
+                setRetryAdapter(null)
+                progressBar.setVisibilityIfChanged(View.INVISIBLE)
+                msgTv.setVisibilityIfChanged(View.VISIBLE)
                 if (loadState.endOfPaginationReached) {
-                    msgTv.text = noMoreMsg
+                    msgTv.setTextIfChanged(resources.noMoreMsg)
                 } else {
-                    msgTv.text = loadCompleted
+                    msgTv.setTextIfChanged(resources.loadCompleted)
                 }
             }
         }
+    }
+
+    private fun setRetryAdapter(pagingAdapter: PagingDataAdapter<*, *>?) {
+        if (retryAdapter === pagingAdapter) {
+            return
+        }
+        retryAdapter = pagingAdapter
+        // the same listener is set or removed, the footer is only clickable when it shows an error.
+        itemView.setOnClickListener(if (pagingAdapter == null) null else this)
+    }
 
+    private fun View.setVisibilityIfChanged(visibility: Int) {
+        if (this.visibility != visibility) {
+            this.visibility = visibility
+        }
+    }
+
+    /** [TextView.setText] requests a layout even if the text is not changed. */
+    private fun TextView.setTextIfChanged(text: String) {
+        // the strings are the cached instances, so comparing by reference is enough in most cases.
+        val current = this.text
+        if (current !== text && current?.toString() != text) {
+            this.text = text
+        }
     }
 
 }
@@ -2,23 +2,35 @@ package com.android.base.fragment.list.paging3
 
 import androidx.recyclerview.widget.DiffUtil
 
+/**
+ * The default implementations compare the identities by the Java classes and the ids, and the contents by
+ * [ContentHash.contentHash] if the items have it, without creating any objects. The defaults are called directly rather
+ * than through the lambdas, which return boxed [Boolean]s.
+ */
 class IntIdentityItemDiffCallback<T : IntIdentity>(
-    private val areTheItemsSame: (T, T) -> Boolean = { old, new ->
-        old::class == new::class && old.id == new.id
-    },
-    private val areTheContentsSame: (T, T) -> Boolean = { old, new -> old == new },
-    private val getChangedPayload: (T, T) -> Any? = { _: IntIdentity, _: IntIdentity -> null },
+    private val areTheItemsSame: (T, T) -> Boolean = sameClassAndIdInt,
+    private val areTheContentsSame: (T, T) -> Boolean = sameContentsByHash,
+    private val getChangedPayload: (T, T) -> Any? = noChangePayload,
 ) : DiffUtil.ItemCallback<T>() {
 
     override fun areItemsTheSame(oldItem: T, newItem: T): Boolean {
+        if (areTheItemsSame === sameClassAndIdInt) {
+            return oldItem.javaClass == newItem.javaClass && oldItem.id == newItem.id
+        }
         return areTheItemsSame(oldItem, newItem)
     }
 
     override fun areContentsTheSame(oldItem: T, newItem: T): Boolean {
+        if (areTheContentsSame === sameContentsByHash) {
+            return areContentsTheSameByHash(oldItem, newItem)
+        }
         return areTheContentsSame(oldItem, newItem)
     }
 
     override fun getChangePayload(oldItem: T, newItem: T): Any? {
+        if (getChangedPayload === noChangePayload) {
+            return null
+        }
         return getChangedPayload(oldItem, newItem)
     }
 
@@ -27,3 +39,7 @@ class IntIdentityItemDiffCallback<T : IntIdentity>(
 interface IntIdentity {
     val id: Int
 }
+
+private val sameClassAndIdInt: (IntIdentity, IntIdentity) -> Boolean = { old, new ->
+    old.javaClass == new.javaClass && old.id == new.id
+}
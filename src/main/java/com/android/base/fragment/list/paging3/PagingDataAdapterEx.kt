@@ -4,9 +4,23 @@ import androidx.paging.LoadState
 import androidx.paging.PagingDataAdapter
 import androidx.recyclerview.widget.ConcatAdapter
 
+/**
+ * The same as [PagingDataAdapter.withLoadStateFooter], but the returned [ConcatAdapter] keeps the view types of the adapters,
+ * so that the view holders created by this adapter ahead of time, for example, by
+ * [com.android.base.fragment.list.warmUpItemViews], can be reused.
+ */
 fun PagingDataAdapter<*, *>.withDefaultLoadStateFooter(
     /** by default, load more footer is always shown. */
     displayLoadStateAsItem: ((loadState: LoadState) -> Boolean)? = null,
 ): ConcatAdapter {
-    return withLoadStateFooter(DefaultLoadStateAdapter(this, displayLoadStateAsItem))
-}
\ No newline at end of file
+    val footer = DefaultLoadStateAdapter(this, displayLoadStateAsItem)
+    addLoadStateListener { loadStates ->
+        footer.loadState = loadStates.append
+    }
+    return ConcatAdapter(sharedViewTypesConfig, this, footer)
+}
+
+/** The adapters wrapped by the [ConcatAdapter]s of this package use distinct view types, so they can be shared. */
+internal val sharedViewTypesConfig: ConcatAdapter.Config = ConcatAdapter.Config.Builder()
+    .setIsolateViewTypes(false)
+    .build()
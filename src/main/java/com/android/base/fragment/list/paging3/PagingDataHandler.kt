@@ -1,16 +1,25 @@
 package com.android.base.fragment.list.paging3
 
+import androidx.lifecycle.ViewModel
 import androidx.paging.CombinedLoadStates
 import androidx.paging.LoadState
 import androidx.paging.PagingData
 import androidx.paging.PagingDataAdapter
+import androidx.recyclerview.widget.RecyclerView
 import com.android.base.core.AndroidSword
+import com.android.base.fragment.tool.ChoreographerFrameClock
+import com.android.base.fragment.tool.FrameClock
 import com.android.base.fragment.tool.HandlingProcedure
 import com.android.base.fragment.ui.PagingLayoutHost
 import com.android.base.fragment.ui.internalRetryByAutoRefresh
+import com.android.base.fragment.vm.retainedPagingData
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.collectLatest
+import kotlinx.coroutines.flow.combine
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.onStart
 import kotlinx.coroutines.launch
 
 class PagingDataHandlerBuilder<T : Any> internal constructor() {
@@ -24,6 +33,13 @@ class PagingDataHandlerBuilder<T : Any> internal constructor() {
 
     internal var showContentLoadingWhenEmpty = !internalRetryByAutoRefresh
 
+    internal var showPlaceholdersWhenEmpty = false
+
+    internal var loadStateFrameClock: FrameClock? = null
+
+    internal var pageCache: PagingPageCache<*, *>? = null
+    internal var onCacheStateChanged: (suspend (isServingCache: Boolean) -> Unit)? = null
+
     /** handle when the list is empty after a successful refreshing. */
     fun onRefreshEmpty(action: suspend HandlingProcedure.() -> Unit) {
         onRefreshEmpty = action
@@ -48,6 +64,32 @@ class PagingDataHandlerBuilder<T : Any> internal constructor() {
     fun showContentLoadingWhenEmpty(enable: Boolean) {
         showContentLoadingWhenEmpty = enable
     }
+
+    /**
+     * Keep showing the content while the first page is loading, so that the placeholders added by
+     * [withSkeletonPlaceholders] are displayed instead of the loading layout.
+     */
+    fun showPlaceholdersWhenEmpty(enable: Boolean) {
+        showPlaceholdersWhenEmpty = enable
+    }
+
+    /**
+     * Handle the load states at most once per frame. If they change several times within a frame, only the latest ones will
+     * be handled when the next frame starts. It is disabled by default, so every change is handled immediately, the same as
+     * [com.android.base.fragment.list.ListStateHandlerBuilder.submitDataPerFrame].
+     */
+    fun conflateLoadStatesPerFrame(frameClock: FrameClock = ChoreographerFrameClock) {
+        loadStateFrameClock = frameClock
+    }
+
+    /**
+     * Get notified whether the displayed content was read from the [cache] of a [CachedPagingSource] and is not
+     * revalidated yet, for example, to show a hint that the content may be outdated.
+     */
+    fun onCacheStateChanged(cache: PagingPageCache<*, *>, action: suspend (isServingCache: Boolean) -> Unit) {
+        pageCache = cache
+        onCacheStateChanged = action
+    }
 }
 
 /**
@@ -61,6 +103,38 @@ fun <T : Any> PagingLayoutHost.handlePagingData(
     handlePagingData(adapter, data) {}
 }
 
+/**
+ * This extension is used to help [BasePagingFragment] or [BasePagingDialogFragment] handle paging data that is retained by
+ * the [viewModel]. When the view is destroyed and recreated, for example, detached by a `TabManager` or put into the back
+ * stack, the loaded pages are submitted again without reloading, and the scroll position is restored after that.
+ *
+ * If the `stateRestorationPolicy` of the [adapter] is still the default one, it is set to `PREVENT_WHEN_EMPTY`, so that the
+ * saved state of the layout manager is restored after the retained pages are submitted.
+ *
+ * @param key identify the list in the [viewModel], it must be unique among the lists sharing the [viewModel].
+ * @param data create the paging data, it is only called once for the [key].
+ *
+ * ```
+ * handlePagingData(adapter, viewModel, "ArticlesFragment.articles", { viewModel.articles() }) {
+ *     onRefreshEmpty { ... }
+ * }
+ * ```
+ * @see retainedPagingData
+ */
+context(CoroutineScope)
+fun <T : Any> PagingLayoutHost.handlePagingData(
+    adapter: PagingDataAdapter<T, *>,
+    viewModel: ViewModel,
+    key: String,
+    data: () -> Flow<PagingData<T>>,
+    handlerBuilder: PagingDataHandlerBuilder<T>.() -> Unit = {},
+) {
+    if (adapter.stateRestorationPolicy == RecyclerView.Adapter.StateRestorationPolicy.ALLOW) {
+        adapter.stateRestorationPolicy = RecyclerView.Adapter.StateRestorationPolicy.PREVENT_WHEN_EMPTY
+    }
+    handlePagingData(adapter, viewModel.retainedPagingData(key, data), handlerBuilder)
+}
+
 /**
  * This extension is used to help [BasePagingFragment] or [BasePagingDialogFragment] handle paging data.
  */
@@ -78,23 +152,65 @@ fun <T : Any> PagingLayoutHost.handlePagingData(
         }
     }
 
-    launch {
-        adapter.loadStateFlow.collectLatest {
-            handleLoadState(adapter, it, pagingDataHandler)
+    handleLoadStates(adapter.loadStateFlow, adapter.onPagesUpdatedFlow, { adapter.itemCount }, pagingDataHandler)
+
+    val pageCache = pagingDataHandler.pageCache
+    val onCacheStateChanged = pagingDataHandler.onCacheStateChanged
+    if (pageCache != null && onCacheStateChanged != null) {
+        launch {
+            pageCache.isServingCache.collect(onCacheStateChanged)
         }
     }
 }
 
-private suspend fun PagingLayoutHost.handleLoadState(
-    adapter: PagingDataAdapter<*, *>,
-    loadStates: CombinedLoadStates,
+/**
+ * Handles the load states of a [PagingDataAdapter]. It only depends on the flows of the adapter, so that it can be
+ * benchmarked on the JVM.
+ */
+context(CoroutineScope)
+internal fun PagingLayoutHost.handleLoadStates(
+    loadStateFlow: Flow<CombinedLoadStates>,
+    onPagesUpdatedFlow: Flow<Unit>,
+    itemCount: () -> Int,
     pagingDataHandler: PagingDataHandlerBuilder<*>,
 ) {
-    val isEmpty = adapter.snapshot().isEmpty()
-    handlePagingRefreshState(loadStates.refresh, isEmpty, pagingDataHandler)
-    handlePagingLoadMoreState(loadStates.append, pagingDataHandler)
+    // the refresh state and the append state are deduplicated separately, so a change of one does not handle the other again.
+    launch {
+        combine(loadStateFlow, onPagesUpdatedFlow.onStart { emit(Unit) }) { loadStates, _ ->
+            loadStates.toReducedRefreshState(itemCount())
+        }
+            .distinctUntilChanged()
+            .collectLatest {
+                // a newer change cancels the waiting, so only the latest state of a frame is handled.
+                pagingDataHandler.loadStateFrameClock?.awaitFrame()
+                handlePagingRefreshState(it.first, it.second, pagingDataHandler)
+            }
+    }
+
+    launch {
+        loadStateFlow.map { it.append }
+            .distinctUntilChanged()
+            .collectLatest {
+                pagingDataHandler.loadStateFrameClock?.awaitFrame()
+                handlePagingLoadMoreState(it, pagingDataHandler)
+            }
+    }
 }
 
+/**
+ * Only the changes of the projection lead to the layout switching and the refresh callbacks of [PagingDataHandlerBuilder].
+ * The details of a finished refresh are dropped.
+ */
+private fun CombinedLoadStates.toReducedRefreshState(
+    itemCount: Int,
+): Pair<LoadState/*refresh*/, Boolean/*is empty*/> {
+    val reducedRefresh = if (refresh is LoadState.NotLoading) REFRESH_COMPLETED else refresh
+    // snapshot() copies all the loaded items, itemCount is the same size without any copy.
+    return Pair(reducedRefresh, itemCount == 0)
+}
+
+private val REFRESH_COMPLETED = LoadState.NotLoading(endOfPaginationReached = false)
+
 private suspend fun handlePagingLoadMoreState(append: LoadState, pagingDataHandler: PagingDataHandlerBuilder<*>) {
     when (append) {
         is LoadState.Loading -> {
@@ -119,7 +235,9 @@ private suspend fun PagingLayoutHost.handlePagingRefreshState(
 ) {
     when (refreshState) {
         is LoadState.Loading -> {
-            if (isEmpty && pagingDataHandler.showContentLoadingWhenEmpty && !isRefreshing()) {
+            if (isEmpty && pagingDataHandler.showPlaceholdersWhenEmpty) {
+                showContentLayout()
+            } else if (isEmpty && pagingDataHandler.showContentLoadingWhenEmpty && !isRefreshing()) {
                 showLoadingLayout()
             } else {
                 setRefreshing()
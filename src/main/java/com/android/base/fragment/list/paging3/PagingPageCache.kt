@@ -0,0 +1,298 @@
+package com.android.base.fragment.list.paging3
+
+import android.content.Context
+import androidx.paging.PagingSource.LoadResult
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+import timber.log.Timber
+import java.io.BufferedInputStream
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInput
+import java.io.DataInputStream
+import java.io.DataOutput
+import java.io.DataOutputStream
+import java.io.EOFException
+import java.io.File
+import java.io.FileInputStream
+import java.io.FileOutputStream
+import java.io.IOException
+import java.io.RandomAccessFile
+import java.util.concurrent.ConcurrentHashMap
+
+/** Encodes the keys and the items of the cached pages, a compact binary format is preferred. */
+interface PageCacheSerializer<Key : Any, Value : Any> {
+
+    fun writeKey(output: DataOutput, key: Key)
+
+    fun readKey(input: DataInput): Key
+
+    fun writeValue(output: DataOutput, value: Value)
+
+    fun readValue(input: DataInput): Value
+
+}
+
+/** A page read from the cache. [loadKey] is the key it was loaded with, null for the initial page. */
+internal class CachedPage<Key : Any, Value : Any>(
+    val loadKey: Key?,
+    val page: LoadResult.Page<Key, Value>,
+)
+
+/**
+ * An app-private, append-only file cache of the pages loaded by a [CachedPagingSource].
+ *
+ * The pages are appended to a file named by [name] as they are loaded, and the file is rewritten when the list is refreshed.
+ * All the cache files share the size limit of [maxCacheBytes], the least recently used files are deleted when it is exceeded.
+ *
+ * Create it once for a list, for example in your repository, and share it between the [CachedPagingSource]s of that list.
+ */
+class PagingPageCache<Key : Any, Value : Any>(
+    context: Context,
+    private val name: String,
+    private val serializer: PageCacheSerializer<Key, Value>,
+    private val maxCacheBytes: Long = DEFAULT_MAX_CACHE_BYTES,
+) {
+
+    private val directory = File(context.applicationContext.cacheDir, CACHE_DIRECTORY)
+
+    private val file = File(directory, "$name$CACHE_FILE_SUFFIX")
+
+    internal val revalidationScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+
+    /** The page loaded by the background revalidation, it will be used by the next generation of the [CachedPagingSource]. */
+    @Volatile
+    private var revalidatedPage: CachedPage<Key, Value>? = null
+
+    private val _isServingCache = MutableStateFlow(false)
+
+    /** True if the displayed pages were read from the cache and are not revalidated yet. */
+    val isServingCache: StateFlow<Boolean> = _isServingCache.asStateFlow()
+
+    /** Returns the cached pages if they have not been served in this process, or null. */
+    internal suspend fun takeColdStartPages(): List<CachedPage<Key, Value>>? {
+        if (!servedCaches.add(name)) {
+            return null
+        }
+        val pages = readPages()
+        if (pages.isNotEmpty()) {
+            _isServingCache.value = true
+            return pages
+        }
+        return null
+    }
+
+    internal fun onRevalidated(loadKey: Key?, page: LoadResult.Page<Key, Value>) {
+        revalidatedPage = CachedPage(loadKey, page)
+    }
+
+    /** Returns the revalidated page if it was loaded with the same key, it can only be taken once. */
+    internal fun takeRevalidatedPage(loadKey: Key?): LoadResult.Page<Key, Value>? {
+        val revalidated = revalidatedPage ?: return null
+        revalidatedPage = null
+        return if (revalidated.loadKey == loadKey) revalidated.page else null
+    }
+
+    internal fun onLoadedFromSource() {
+        _isServingCache.value = false
+    }
+
+    internal suspend fun replace(loadKey: Key?, page: LoadResult.Page<Key, Value>) {
+        write(loadKey, page, append = false)
+    }
+
+    internal suspend fun append(loadKey: Key?, page: LoadResult.Page<Key, Value>) {
+        write(loadKey, page, append = true)
+    }
+
+    suspend fun clear() = withContext(Dispatchers.IO) {
+        cacheLock.withLock {
+            file.delete()
+        }
+    }
+
+    private suspend fun readPages(): List<CachedPage<Key, Value>> = withContext(Dispatchers.IO) {
+        cacheLock.withLock {
+            if (!file.exists()) {
+                return@withLock emptyList()
+            }
+            val pages = ArrayList<CachedPage<Key, Value>>()
+            val fileLength = file.length()
+            try {
+                DataInputStream(BufferedInputStream(FileInputStream(file))).use { input ->
+                    while (true) {
+                        val record = try {
+                            ByteArray(readRecordLength(input, fileLength)).also { input.readFully(it) }
+                        } catch (e: EOFException) {
+                            // the end of the file, or the last record was not completely written, drop it.
+                            break
+                        }
+                        pages.add(readRecord(record))
+                    }
+                }
+                file.setLastModified(System.currentTimeMillis())
+            } catch (e: Exception) {
+                // a corrupt file may also fail the serializer with a RuntimeException.
+                Timber.w(e, "PagingPageCache: failed to read $name, the cache is dropped.")
+                file.delete()
+                return@withLock emptyList()
+            }
+            pages
+        }
+    }
+
+    private fun readRecordLength(input: DataInput, fileLength: Long): Int {
+        val length = input.readInt()
+        if (length < 0) {
+            throw IOException("Invalid record length $length.")
+        }
+        if (length > fileLength) {
+            // it can not be read completely, do not allocate the buffer.
+            throw EOFException()
+        }
+        return length
+    }
+
+    /** Decode a page from exactly the bytes of its record, so that a mismatched serializer can not misparse the next records. */
+    private fun readRecord(record: ByteArray): CachedPage<Key, Value> {
+        val input = DataInputStream(ByteArrayInputStream(record))
+        val page = readPage(input)
+        if (input.available() != 0) {
+            throw IOException("${input.available()} bytes of a record are left, the serializer does not match the cache.")
+        }
+        return page
+    }
+
+    private fun readPage(input: DataInput): CachedPage<Key, Value> {
+        val loadKey = readNullableKey(input)
+        val prevKey = readNullableKey(input)
+        val nextKey = readNullableKey(input)
+        val count = input.readInt()
+        val data = ArrayList<Value>(count)
+        repeat(count) {
+            data.add(serializer.readValue(input))
+        }
+        return CachedPage(loadKey, LoadResult.Page(data, prevKey, nextKey))
+    }
+
+    private suspend fun write(loadKey: Key?, page: LoadResult.Page<Key, Value>, append: Boolean) = withContext(Dispatchers.IO) {
+        // encode the record first, so that a failed encoding does not corrupt the file.
+        val record = ByteArrayOutputStream()
+        try {
+            DataOutputStream(record).use { output ->
+                writeNullableKey(output, loadKey)
+                writeNullableKey(output, page.prevKey)
+                writeNullableKey(output, page.nextKey)
+                output.writeInt(page.data.size)
+                page.data.forEach {
+                    serializer.writeValue(output, it)
+                }
+            }
+        } catch (e: Exception) {
+            Timber.w(e, "PagingPageCache: failed to encode a page of $name, it is not cached.")
+            return@withContext
+        }
+
+        cacheLock.withLock {
+            try {
+                directory.mkdirs()
+                DataOutputStream(FileOutputStream(file, append)).use { output ->
+                    output.writeInt(record.size())
+                    record.writeTo(output)
+                }
+            } catch (e: IOException) {
+                Timber.w(e, "PagingPageCache: failed to write $name.")
+                file.delete()
+            }
+            trimToSize()
+        }
+    }
+
+    /**
+     * Delete the least recently used files of other caches, then truncate the file of this cache to the records that fit if
+     * it still exceeds the limit. It must be called with [cacheLock] held.
+     */
+    private fun trimToSize() {
+        val files = directory.listFiles() ?: return
+        var totalBytes = files.sumOf { it.length() }
+        if (totalBytes <= maxCacheBytes) {
+            return
+        }
+        files.sortBy { it.lastModified() }
+        for (cacheFile in files) {
+            if (totalBytes <= maxCacheBytes) {
+                break
+            }
+            if (cacheFile == file) {
+                continue
+            }
+            totalBytes -= cacheFile.length()
+            cacheFile.delete()
+        }
+        if (totalBytes > maxCacheBytes) {
+            truncate(maxCacheBytes - (totalBytes - file.length()))
+        }
+    }
+
+    /** Keep the leading records of the file of this cache that fit in [maxBytes], the first pages are the most useful. */
+    private fun truncate(maxBytes: Long) {
+        try {
+            var keptBytes = 0L
+            RandomAccessFile(file, "rw").use { randomAccessFile ->
+                val fileLength = randomAccessFile.length()
+                while (keptBytes + RECORD_HEADER_BYTES <= fileLength) {
+                    randomAccessFile.seek(keptBytes)
+                    val recordEnd = keptBytes + RECORD_HEADER_BYTES + randomAccessFile.readInt()
+                    if (recordEnd > maxBytes || recordEnd > fileLength) {
+                        break
+                    }
+                    keptBytes = recordEnd
+                }
+                randomAccessFile.setLength(keptBytes)
+            }
+            if (keptBytes == 0L) {
+                file.delete()
+            }
+        } catch (e: IOException) {
+            Timber.w(e, "PagingPageCache: failed to truncate $name.")
+            file.delete()
+        }
+    }
+
+    private fun writeNullableKey(output: DataOutput, key: Key?) {
+        output.writeBoolean(key != null)
+        if (key != null) {
+            serializer.writeKey(output, key)
+        }
+    }
+
+    private fun readNullableKey(input: DataInput): Key? {
+        return if (input.readBoolean()) serializer.readKey(input) else null
+    }
+
+    companion object {
+
+        const val DEFAULT_MAX_CACHE_BYTES = 4L * 1024 * 1024
+
+        private const val CACHE_DIRECTORY = "base_paging_cache"
+        private const val CACHE_FILE_SUFFIX = ".pages"
+
+        /* the length of a record is written before it. */
+        private const val RECORD_HEADER_BYTES = Int.SIZE_BYTES
+
+        /** Guards all the files in the cache directory, as [trimToSize] deletes the files of other caches. */
+        private val cacheLock = Mutex()
+
+        /** The caches that have been served in this process, they are only served on cold start. */
+        private val servedCaches = ConcurrentHashMap.newKeySet<String>()
+
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.android.base.fragment.list.paging3
+
+import android.content.Context
+import android.view.View
+import android.view.ViewGroup
+import androidx.core.content.ContextCompat
+import androidx.core.view.OneShotPreDrawListener
+import androidx.paging.CombinedLoadStates
+import androidx.paging.LoadState
+import androidx.paging.PagingDataAdapter
+import androidx.recyclerview.widget.ConcatAdapter
+import androidx.recyclerview.widget.RecyclerView
+import com.android.base.fragment.R
+import com.android.base.fragment.widget.SkeletonDrawable
+
+/**
+ * Shows [count] skeleton rows while the [pagingAdapter] is refreshing and has no items. The rows are plain views whose
+ * backgrounds share one [SkeletonDrawable], so no item layout is inflated for them.
+ */
+internal class SkeletonPlaceholderAdapter(
+    private val pagingAdapter: PagingDataAdapter<*, *>,
+    private val count: Int,
+    private val rowHeight: Int,
+    private var skeleton: SkeletonDrawable?,
+) : RecyclerView.Adapter<SkeletonPlaceholderAdapter.SkeletonViewHolder>() {
+
+    private var isDisplayed = false
+
+    private var recyclerView: RecyclerView? = null
+
+    private val loadStateListener: (CombinedLoadStates) -> Unit = {
+        setDisplayed(it.refresh is LoadState.Loading && pagingAdapter.itemCount == 0)
+    }
+
+    override fun onAttachedToRecyclerView(recyclerView: RecyclerView) {
+        this.recyclerView = recyclerView
+        pagingAdapter.addLoadStateListener(loadStateListener)
+    }
+
+    override fun onDetachedFromRecyclerView(recyclerView: RecyclerView) {
+        this.recyclerView = null
+        pagingAdapter.removeLoadStateListener(loadStateListener)
+    }
+
+    private fun setDisplayed(displayed: Boolean) {
+        if (isDisplayed == displayed) {
+            return
+        }
+        isDisplayed = displayed
+        // the first page is inserted into the paging adapter in the same frame, so the rows are replaced in place.
+        if (displayed) {
+            notifyItemRangeInserted(0, count)
+        } else {
+            suppressItemAnimationsOfSwap()
+            notifyItemRangeRemoved(0, count)
+        }
+    }
+
+    /**
+     * The rows and the items are in different adapters, so the swap would be animated as the rows fading out and the items
+     * fading in. The item animator is removed for the layout of the swap, so that the items just replace the rows.
+     */
+    private fun suppressItemAnimationsOfSwap() {
+        val recyclerView = recyclerView ?: return
+        val itemAnimator = recyclerView.itemAnimator ?: return
+        recyclerView.itemAnimator = null
+        // the swap has been laid out when the next frame is going to be drawn.
+        OneShotPreDrawListener.add(recyclerView) {
+            if (recyclerView.itemAnimator == null) {
+                recyclerView.itemAnimator = itemAnimator
+            }
+        }
+    }
+
+    override fun getItemCount(): Int = if (isDisplayed) count else 0
+
+    override fun getItemViewType(position: Int): Int = VIEW_TYPE_SKELETON
+
+    override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): SkeletonViewHolder {
+        val view = View(parent.context)
+        view.layoutParams = RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, rowHeight)
+        // the default skeleton is resolved from the context of the list, so it follows the night mode.
+        val skeleton = skeleton ?: defaultSkeletonDrawable(parent.context).also { skeleton = it }
+        view.background = skeleton.newPlaceholder()
+        return SkeletonViewHolder(view)
+    }
+
+    override fun onBindViewHolder(holder: SkeletonViewHolder, position: Int) {
+        // nothing to bind.
+    }
+
+    class SkeletonViewHolder(itemView: View) : RecyclerView.ViewHolder(itemView)
+
+    private companion object {
+        val VIEW_TYPE_SKELETON = SkeletonPlaceholderAdapter::class.java.hashCode()
+    }
+
+}
+
+/**
+ * Show skeleton rows in place of the items while the first page is loading, use it with
+ * [PagingDataHandlerBuilder.showPlaceholdersWhenEmpty] so that the loading layout is not shown. Add the footer to the
+ * returned [ConcatAdapter] if needed.
+ *
+ * @param count the count of the skeleton rows, enough to fill the screen.
+ * @param rowHeight the height of a skeleton row in pixels, it should be close to the height of the real items.
+ * @param skeleton the drawable of the rows, null to use the default one colored by `@color/base_skeleton`.
+ */
+fun PagingDataAdapter<*, *>.withSkeletonPlaceholders(
+    count: Int,
+    rowHeight: Int,
+    skeleton: SkeletonDrawable? = null,
+): ConcatAdapter {
+    return ConcatAdapter(sharedViewTypesConfig, SkeletonPlaceholderAdapter(this, count, rowHeight, skeleton), this)
+}
+
+private fun defaultSkeletonDrawable(context: Context): SkeletonDrawable {
+    val density = context.resources.displayMetrics.density
+    return SkeletonDrawable(
+        ContextCompat.getColor(context, R.color.base_skeleton),
+        2,
+        12 * density,
+        10 * density,
+        16 * density
+    )
+}
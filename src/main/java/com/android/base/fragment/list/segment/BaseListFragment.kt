@@ -11,9 +11,11 @@ import com.android.base.adapter.DataManager
 import com.android.base.adapter.recycler.segment.BaseRecyclerAdapter
 import com.android.base.core.AndroidSword
 import com.android.base.fragment.base.BaseUIFragment
+import com.android.base.fragment.list.ItemViewWarmUpConfig
 import com.android.base.fragment.list.epoxy.BaseEpoxyListFragment
 import com.android.base.fragment.list.handleListData
 import com.android.base.fragment.list.paging3.BasePagingFragment
+import com.android.base.fragment.list.warmUpItemViews
 import com.android.base.fragment.state.BaseStateFragment
 import com.android.base.fragment.ui.CommonId
 import com.android.base.fragment.ui.Paging
@@ -23,6 +25,7 @@ import com.android.base.fragment.ui.StateLayoutConfig
 import com.android.base.fragment.ui.toSegmentedListDataHost
 import com.ztiany.loadmore.adapter.LoadMoreAdapter
 import com.ztiany.loadmore.adapter.LoadMoreController
+import kotlinx.coroutines.Job
 import kotlin.properties.Delegates
 
 /**
@@ -139,6 +142,20 @@ abstract class BaseListFragment<T, PageKey : Any, VB : ViewBinding> : BaseUIFrag
         }
     }
 
+    /**
+     * Inflate item views into the pool of [recyclerView] while the list is empty. Call it after [setUpList] is called.
+     *
+     * @param adapter the adapter which creates the item views, not the one returned by [enableLoadMore].
+     * @see com.android.base.fragment.list.warmUpItemViews
+     */
+    protected fun warmUpItemViews(
+        recyclerView: RecyclerView,
+        adapter: Adapter<*>,
+        config: ItemViewWarmUpConfig.() -> Unit,
+    ): Job {
+        return viewLifecycleOwner.lifecycleScope.warmUpItemViews(recyclerView, adapter, { listLayoutHostImpl.isEmpty() }, config)
+    }
+
     protected open fun onRetry(@StateLayoutConfig.RetryableState state: Int) {
         if (listLayoutHostImpl.isRefreshEnable) {
             if (!listLayoutHostImpl.isRefreshing()) {
@@ -9,6 +9,7 @@ import com.android.base.fragment.ui.SegmentedListDataHost
 import com.android.base.fragment.ui.SegmentedListLayoutHost
 import com.android.base.fragment.ui.StateLayout
 import com.android.base.fragment.ui.StateLayoutConfig
+import com.android.base.fragment.ui.StateMetrics
 import com.ztiany.loadmore.adapter.LoadMoreController
 import com.ztiany.loadmore.adapter.OnLoadMoreListener
 import timber.log.Timber
@@ -167,6 +168,10 @@ fun <T, Key : Any> buildSegmentedListLayoutHost(
             return stateLayoutImpl.currentStatus()
         }
 
+        override fun getStateMetrics(): StateMetrics {
+            return stateLayoutImpl.stateMetrics
+        }
+
     }//object end.
 
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import com.android.base.fragment.ui.SegmentedListDataHost
 import com.android.base.fragment.ui.SegmentedListLayoutHost
 import com.android.base.fragment.ui.StateLayout
 import com.android.base.fragment.ui.StateLayoutConfig
+import com.android.base.fragment.ui.StateMetrics
 
 class SegmentedListLayoutHostConfig2<PageKey : Any> internal constructor() {
     var onRetry: ((state: Int) -> Unit)? = null
@@ -152,6 +153,10 @@ fun <T, Key : Any> buildSegmentedListLayoutHost2(
             return stateLayoutImpl.currentStatus()
         }
 
+        override fun getStateMetrics(): StateMetrics {
+            return stateLayoutImpl.stateMetrics
+        }
+
     }
 
 }
\ No newline at end of file
@@ -119,9 +119,11 @@ fun <D> StateLayoutHost.handleFlowDataState(
     flowData: Flow<DataState<D>>,
     handler: DataStateHandlerBuilder<D>.() -> Unit,
 ) {
+    // the handler is built once for the collection, every emission reuses it.
+    val dataStateHandler = DataStateHandler(this, DataStateHandlerBuilder<D>().apply(handler))
     launch {
         flowData.collectLatest {
-            handleDataState(it, handler)
+            dataStateHandler.handle(it)
         }
     }
 }
@@ -130,76 +132,114 @@ suspend fun <D> StateLayoutHost.handleDataState(
     state: DataState<D>,
     handler: DataStateHandlerBuilder<D>.() -> Unit,
 ) {
-    val stateHandler = DataStateHandlerBuilder<D>().apply(handler)
+    DataStateHandler(this, DataStateHandlerBuilder<D>().apply(handler)).handle(state)
+}
+
+/**
+ * Handles the [DataState]s with a built [DataStateHandlerBuilder]. The [HandlingProcedure]s are created once and read the
+ * state being handled from the fields, so handling a state allocates nothing.
+ */
+private class DataStateHandler<D>(
+    private val host: StateLayoutHost,
+    private val stateHandler: DataStateHandlerBuilder<D>,
+) {
+
+    /* the state being handled. */
+    private var isEmpty = false
+    private var error: Throwable? = null
+
+    /* the last handled state. */
+    private var hasHandled = false
+    private var lastData: D? = null
+    private var lastIsRefreshing = false
+    private var lastError: Throwable? = null
+
+    private val loadingProcedure = HandlingProcedure { showLoading() }
+    private val emptyProcedure = HandlingProcedure { host.showEmptyLayout() }
+    private val errorProcedure = HandlingProcedure { showError() }
 
-    val data = state.data
-    val dispatchData = suspend {
-        data?.let {
-            stateHandler.onResult?.invoke(it)
-            showContentLayout()
+    suspend fun handle(state: DataState<D>) {
+        // the same state leads to the same layout and the data has been dispatched.
+        if (hasHandled && state.data === lastData && state.isRefreshing == lastIsRefreshing && state.refreshError === lastError) {
+            return
         }
+        // a handling cancelled by a newer state is not recorded, so the state will not be skipped next time.
+        hasHandled = false
+        handleState(state)
+        hasHandled = true
+        lastData = state.data
+        lastIsRefreshing = state.isRefreshing
+        lastError = state.refreshError
     }
 
-    val isEmpty = data == null || stateHandler.checker(data)
-    val error = state.refreshError
+    private suspend fun handleState(state: DataState<D>) {
+        val data = state.data
+        val error = state.refreshError
 
-    // handling on refreshing.
-    if (state.isRefreshing) {
-        // default handling process
-        val defaultHandling = {
-            if ((!isRefreshEnable) or isEmpty && stateHandler.showContentLoadingWhenEmpty && !isRefreshing()) {
-                showLoadingLayout()
-            } else {
-                setRefreshing()
-            }
+        this.isEmpty = data == null || stateHandler.checker(data)
+        this.error = error
+
+        // handling on refreshing.
+        if (state.isRefreshing) {
+            // your custom handling process
+            stateHandler.onLoading?.invoke(loadingProcedure, isEmpty) ?: showLoading()
+            // always dispatch data if we have.
+            dispatchData(data)
+            return
+        }
+
+        // not refreshing, dismiss the refresh indicator.
+        if (host.isRefreshEnable && host.isRefreshing()) {
+            host.refreshCompleted()
         }
-        // your custom handling process
-        stateHandler.onLoading?.also {
-            HandlingProcedure(defaultHandling).it(isEmpty)
-        } ?: defaultHandling()
+
         // always dispatch data if we have.
-        dispatchData()
-        return
-    }
+        dispatchData(data)
+
+        // refreshing successfully but has no data.
+        if (error == null && isEmpty) {
+            // your custom handling process
+            stateHandler.onEmpty?.invoke(emptyProcedure) ?: host.showEmptyLayout()
+            return
+        }
 
-    // not refreshing, dismiss the refresh indicator.
-    if (isRefreshEnable && isRefreshing()) {
-        refreshCompleted()
+        if (error != null) {
+            // your custom handling process, always dispatch error.
+            stateHandler.onError?.invoke(errorProcedure, error, isEmpty) ?: showError()
+        }
     }
 
-    // always dispatch data if we have.
-    dispatchData()
-
-    // refreshing successfully but has no data.
-    if (error == null && isEmpty) {
-        // default handling process
-        val defaultHandling = { showEmptyLayout() }
-        // your custom handling process
-        stateHandler.onEmpty?.also {
-            HandlingProcedure(defaultHandling).it()
-        } ?: defaultHandling()
-        return
+    private suspend fun dispatchData(data: D?) {
+        if (data != null) {
+            stateHandler.onResult?.invoke(data)
+            host.showContentLayout()
+        }
     }
 
-    error?.let {
-        // default handling process
-        val defaultHandling = {
-            // refreshing failed but we don't have previously loaded data.
-            val errorTypeClassifier = AndroidSword.requestErrorClassifier
-            if (errorTypeClassifier != null) {
-                when {
-                    errorTypeClassifier.isNetworkError(it) -> showNetErrorLayout()
-                    errorTypeClassifier.isServerError(it) -> showServerErrorLayout()
-                    else -> showErrorLayout()
-                }
+    /** The default handling process of loading. */
+    private fun showLoading() {
+        with(host) {
+            if ((!isRefreshEnable) or isEmpty && stateHandler.showContentLoadingWhenEmpty && !isRefreshing()) {
+                showLoadingLayout()
             } else {
-                showErrorLayout()
+                setRefreshing()
             }
         }
-        // your custom handling process
-        stateHandler.onError?.also {
-            // always dispatch error.
-            HandlingProcedure(defaultHandling).it(error, isEmpty)
-        } ?: defaultHandling()
     }
-}
\ No newline at end of file
+
+    /** The default handling process of errors, refreshing failed but we don't have previously loaded data. */
+    private fun showError() {
+        val error = error ?: return
+        val errorTypeClassifier = AndroidSword.requestErrorClassifier
+        if (errorTypeClassifier != null) {
+            when {
+                errorTypeClassifier.isNetworkError(error) -> host.showNetErrorLayout()
+                errorTypeClassifier.isServerError(error) -> host.showServerErrorLayout()
+                else -> host.showErrorLayout()
+            }
+        } else {
+            host.showErrorLayout()
+        }
+    }
+
+}
@@ -7,6 +7,7 @@ import com.android.base.fragment.ui.OnRetryActionListener
 import com.android.base.fragment.ui.StateLayout
 import com.android.base.fragment.ui.StateLayoutConfig
 import com.android.base.fragment.ui.StateLayoutHost
+import com.android.base.fragment.ui.StateMetrics
 
 class StateLayoutHostConfig internal constructor(){
     var onRetry: ((state: Int) -> Unit)? = null
@@ -107,6 +108,10 @@ fun buildStateLayoutHost(
             return stateLayoutImpl.currentStatus()
         }
 
+        override fun getStateMetrics(): StateMetrics {
+            return stateLayoutImpl.stateMetrics
+        }
+
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.android.base.fragment.tool
+
+import android.content.Context
+import android.content.res.Configuration
+
+/**
+ * Holds a value resolved from resources, it will be resolved again only when the configuration changes.
+ *
+ * Notes: it is not thread-safe, use it on the main thread.
+ */
+internal class ConfigurationBoundValue<T : Any>(
+    private val resolver: (Context) -> T,
+) {
+
+    private var configuration: Configuration? = null
+
+    private var value: T? = null
+
+    fun get(context: Context): T {
+        val current = context.resources.configuration
+        val cached = value
+        if (cached != null && current == configuration) {
+            return cached
+        }
+        return resolver(context).also {
+            value = it
+            configuration = Configuration(current)
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.android.base.fragment.tool
+
+import kotlinx.coroutines.android.awaitFrame as awaitChoreographerFrame
+
+/**
+ * An abstraction of the display frames. Frame-aligned logic depends on it rather than on the Choreographer, so that it can
+ * be tested on the JVM with a fake clock.
+ */
+fun interface FrameClock {
+
+    /** Suspend until the next frame, returns the frame time in nanoseconds. */
+    suspend fun awaitFrame(): Long
+
+}
+
+/** A [FrameClock] backed by the Choreographer of the main thread. */
+object ChoreographerFrameClock : FrameClock {
+
+    override suspend fun awaitFrame(): Long {
+        return awaitChoreographerFrame()
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.android.base.fragment.tool
+
+import android.os.Looper
+import android.os.MessageQueue
+import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlin.coroutines.resume
+
+/**
+ * Suspend until the main message queue becomes idle, that is, there is nothing to do in the current frame.
+ *
+ * Notes: must be called on the main thread.
+ */
+internal suspend fun awaitMainThreadIdle() {
+    val queue = Looper.myQueue()
+    suspendCancellableCoroutine { continuation ->
+        val idleHandler = MessageQueue.IdleHandler {
+            if (continuation.isActive) {
+                continuation.resume(Unit)
+            }
+            false
+        }
+        queue.addIdleHandler(idleHandler)
+        continuation.invokeOnCancellation {
+            queue.removeIdleHandler(idleHandler)
+        }
+    }
+}
+
+
+/**
+ * Run the [action] once when the main message queue becomes idle.
+ *
+ * Notes: must be called on the main thread.
+ */
+internal fun runOnMainThreadIdle(action: () -> Unit) {
+    Looper.myQueue().addIdleHandler {
+        action()
+        false
+    }
+}
@@ -70,5 +70,9 @@ internal fun StateLayoutHost.toPagingLayoutHost(): PagingLayoutHost {
             return stateLayoutHost.currentStatus()
         }
 
+        override fun getStateMetrics(): StateMetrics {
+            return stateLayoutHost.getStateMetrics()
+        }
+
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.android.base.fragment.ui;
 
+import androidx.annotation.NonNull;
+
 /**
  * @author Ztiany
  */
@@ -23,7 +25,21 @@ public interface StateLayout {
 
     StateLayoutConfig getStateLayoutConfig();
 
+    /**
+     * The last requested state. With {@link StateLayoutConfig#setLoadingDisplayPolicy(long, long)}, it may not be displayed
+     * yet, for example, a delayed LOADING or a CONTENT waiting for the minimum show time of LOADING.
+     */
     @StateLayoutConfig.ViewState
     int currentStatus();
 
+    /**
+     * The metrics of the state transitions, they are handed to {@link StateMetricsSink} when the screen is destroyed.
+     * <p>
+     * The layouts that do not record the transitions return new metrics holding only the current state, by default.
+     */
+    @NonNull
+    default StateMetrics getStateMetrics() {
+        return new StateMetrics(currentStatus());
+    }
+
 }
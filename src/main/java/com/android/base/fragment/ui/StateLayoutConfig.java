@@ -63,6 +63,16 @@ public interface StateLayoutConfig {
 
     StateLayoutConfig disableOperationWhenRequesting(boolean disable);
 
+    /**
+     * Delay showing LOADING/REQUESTING by {@code showDelay} and keep it for at least {@code minShowTime} once shown, both
+     * are in milliseconds.
+     * <p>
+     * The layouts that do not support it show the states immediately, by default it does nothing.
+     */
+    default StateLayoutConfig setLoadingDisplayPolicy(long showDelay, long minShowTime) {
+        return this;
+    }
+
     void setStateLayoutListener(StateListener stateListener);
 
 }
@@ -0,0 +1,122 @@
+package com.android.base.fragment.ui;
+
+import android.os.SystemClock;
+
+/**
+ * Records the state transitions of a {@link StateLayout} with {@link SystemClock#uptimeMillis()} timestamps. The last
+ * {@link #CAPACITY} transitions are kept in a ring buffer, and the dwell time and the enter count of every state are
+ * accumulated, so recording a transition allocates nothing.
+ * <p>
+ * Notes: it is not thread-safe, use it on the main thread.
+ *
+ * @author Ztiany
+ */
+public final class StateMetrics {
+
+    /** The count of the transitions kept in the ring buffer. */
+    public static final int CAPACITY = 16;
+
+    private static final int STATE_COUNT = StateLayoutConfig.SERVER_ERROR + 1;
+
+    private final int[] mStates = new int[CAPACITY];
+    private final long[] mTimestamps = new long[CAPACITY];
+    /* the total count of the recorded transitions, the ring buffer keeps the last CAPACITY of them. */
+    private int mTransitionCount;
+
+    private final long[] mDwellTimes = new long[STATE_COUNT];
+    private final int[] mEnterCounts = new int[STATE_COUNT];
+
+    private final long mCreatedAt;
+    private long mFirstContentAt = -1;
+
+    @StateLayoutConfig.ViewState
+    private int mCurrentState;
+    private long mCurrentStateEnteredAt;
+
+    public StateMetrics(@StateLayoutConfig.ViewState int initialState) {
+        mCreatedAt = SystemClock.uptimeMillis();
+        mCurrentState = initialState;
+        mCurrentStateEnteredAt = mCreatedAt;
+        mEnterCounts[initialState]++;
+    }
+
+    public void recordTransition(@StateLayoutConfig.ViewState int state) {
+        long now = SystemClock.uptimeMillis();
+        int index = mTransitionCount % CAPACITY;
+        mStates[index] = state;
+        mTimestamps[index] = now;
+        mTransitionCount++;
+
+        // the initial CONTENT declared by the layout shows no data yet, the first content is the one loaded after another state.
+        if (state == StateLayoutConfig.CONTENT && mCurrentState != StateLayoutConfig.CONTENT && mFirstContentAt < 0) {
+            mFirstContentAt = now;
+        }
+
+        mDwellTimes[mCurrentState] += now - mCurrentStateEnteredAt;
+        mEnterCounts[state]++;
+        mCurrentState = state;
+        mCurrentStateEnteredAt = now;
+    }
+
+    /** The total count of the recorded transitions, only the last {@link #CAPACITY} of them can be read. */
+    public int getTransitionCount() {
+        return mTransitionCount;
+    }
+
+    /** The count of the transitions that can be read by {@link #getTransitionState(int)} and {@link #getTransitionTime(int)}. */
+    public int getRecentTransitionCount() {
+        return Math.min(mTransitionCount, CAPACITY);
+    }
+
+    /**
+     * @param index 0 for the oldest recent transition, {@link #getRecentTransitionCount()} - 1 for the latest one.
+     */
+    @StateLayoutConfig.ViewState
+    public int getTransitionState(int index) {
+        return mStates[toBufferIndex(index)];
+    }
+
+    /**
+     * @param index 0 for the oldest recent transition, {@link #getRecentTransitionCount()} - 1 for the latest one.
+     * @return the {@link SystemClock#uptimeMillis()} when the transition happened.
+     */
+    public long getTransitionTime(int index) {
+        return mTimestamps[toBufferIndex(index)];
+    }
+
+    private int toBufferIndex(int index) {
+        int count = getRecentTransitionCount();
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("index = " + index + ", count = " + count);
+        }
+        return (mTransitionCount - count + index) % CAPACITY;
+    }
+
+    /** The total time spent in the state, including the time of the current state until now. */
+    public long getDwellTime(@StateLayoutConfig.ViewState int state) {
+        long dwellTime = mDwellTimes[state];
+        if (state == mCurrentState) {
+            dwellTime += SystemClock.uptimeMillis() - mCurrentStateEnteredAt;
+        }
+        return dwellTime;
+    }
+
+    /** How many times the state was entered, including the initial state. */
+    public int getEnterCount(@StateLayoutConfig.ViewState int state) {
+        return mEnterCounts[state];
+    }
+
+    /**
+     * The time from the creation of the layout to the first transition to CONTENT from another state, -1 if there is none yet.
+     * The initial state is not counted, as a layout declared with CONTENT shows it before any data is loaded.
+     */
+    public long getTimeToFirstContent() {
+        return mFirstContentAt < 0 ? -1 : mFirstContentAt - mCreatedAt;
+    }
+
+    @StateLayoutConfig.ViewState
+    public int getCurrentState() {
+        return mCurrentState;
+    }
+
+}
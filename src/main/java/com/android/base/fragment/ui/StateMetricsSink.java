@@ -0,0 +1,38 @@
+package com.android.base.fragment.ui;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Receives the {@link StateMetrics} of the state layouts when their screens are destroyed, for example, to report how long
+ * users wait for the content.
+ *
+ * @author Ztiany
+ */
+public class StateMetricsSink {
+
+    private static Sink sSink;
+
+    public static void dispatchStateMetrics(@Nullable String screen, @NonNull StateMetrics metrics) {
+        if (sSink != null) {
+            sSink.onStateMetrics(screen, metrics);
+        }
+    }
+
+    public static void registerSink(Sink sink) {
+        sSink = sink;
+    }
+
+    public interface Sink {
+        /**
+         * @param screen  the name of the screen that the state layout belongs to, it may be null.
+         * @param metrics it is still recording, read what you need in this method.
+         */
+        void onStateMetrics(@Nullable String screen, @NonNull StateMetrics metrics);
+    }
+
+    public static Sink getSink() {
+        return sSink;
+    }
+
+}
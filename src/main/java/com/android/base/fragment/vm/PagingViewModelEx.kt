@@ -0,0 +1,44 @@
+package com.android.base.fragment.vm
+
+import androidx.lifecycle.ViewModel
+import androidx.lifecycle.viewModelScope
+import androidx.paging.PagingData
+import androidx.paging.cachedIn
+import kotlinx.coroutines.flow.Flow
+import timber.log.Timber
+import java.util.concurrent.ConcurrentHashMap
+
+private val vmPagingDataHolder = ConcurrentHashMap<ViewModel, MutableMap<String, Flow<PagingData<*>>>>()
+
+/**
+ * Returns the [PagingData] flow created by [factory] and cached in [viewModelScope] for the [key]. The [factory] is only
+ * called once for a key, so a recreated view can collect the loaded pages again without reloading them.
+ *
+ * @param key identify the list in the ViewModel. There is no default key, as a ViewModel scoped to an activity may be
+ * shared by several screens, and a shared key would hand the flow of one list to another, for example, name it after the
+ * screen and the list.
+ */
+@Suppress("UNCHECKED_CAST")
+fun <T : Any> ViewModel.retainedPagingData(
+    key: String,
+    factory: () -> Flow<PagingData<T>>,
+): Flow<PagingData<T>> {
+    val pagingDataHolder = vmPagingDataHolder.getOrPut(this) {
+        ConcurrentHashMap<String, Flow<PagingData<*>>>().apply {
+            Timber.d("add the PagingData holder to ${this@ViewModel.javaClass.name}(${this@ViewModel.hashCode()}).")
+            addCloseable {
+                Timber.d("remove the PagingData holder from ${this@ViewModel.javaClass.name}(${this@ViewModel.hashCode()}).")
+                vmPagingDataHolder.remove(this@retainedPagingData)
+            }
+        }
+    }
+
+    return pagingDataHolder.getOrPut(key) {
+        factory().cachedIn(viewModelScope)
+    } as Flow<PagingData<T>>
+}
+
+/** Drop the retained [PagingData] of the [key], the next [retainedPagingData] call will create a new one. */
+fun ViewModel.clearRetainedPagingData(key: String) {
+    vmPagingDataHolder[this]?.remove(key)
+}
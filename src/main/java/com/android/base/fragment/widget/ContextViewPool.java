@@ -0,0 +1,142 @@
+package com.android.base.fragment.widget;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.res.Configuration;
+import android.util.SparseArray;
+
+import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The process-wide pool behind {@link StateViewPool} and the pool of the loading-more footers. It keeps the views inflated
+ * from a layout, or the holders of them, for the next screens of the same context.
+ * <p>
+ * The views are bound to the context they were inflated with, so they are pooled by the context and are dropped when the
+ * {@link Lifecycle} owning the context is destroyed. The views of contexts without a {@link LifecycleOwner} are not pooled,
+ * and the views inflated with another configuration are dropped. The items of a layout id must be of the same type.
+ * <p>
+ * Notes: it is not thread-safe, use it on the main thread.
+ *
+ * @author Ztiany
+ */
+public final class ContextViewPool {
+
+    private static final Map<Context, ContextPool> sPools = new HashMap<>();
+
+    private ContextViewPool() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @return a released item of the layout, or null if there is none.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static <T> T obtain(@NonNull Context context, @LayoutRes int layoutId) {
+        ContextPool pool = sPools.get(context);
+        return pool == null ? null : (T) pool.obtain(layoutId, context.getResources().getConfiguration());
+    }
+
+    /**
+     * @param maxSize at most how many items of the layout are kept for the context.
+     * @return false if the item is not kept, because the context can not be pooled or the pool of the layout is full.
+     */
+    public static boolean release(@NonNull Context context, @LayoutRes int layoutId, @NonNull Object item, int maxSize) {
+        ContextPool pool = getOrCreatePool(context);
+        return pool != null && pool.release(layoutId, item, maxSize, context.getResources().getConfiguration());
+    }
+
+    /**
+     * @return how many items of the layout are kept for the context, -1 if the context can not be pooled.
+     */
+    public static int size(@NonNull Context context, @LayoutRes int layoutId) {
+        ContextPool pool = getOrCreatePool(context);
+        return pool == null ? -1 : pool.size(layoutId, context.getResources().getConfiguration());
+    }
+
+    @Nullable
+    private static ContextPool getOrCreatePool(@NonNull Context context) {
+        ContextPool pool = sPools.get(context);
+        if (pool != null) {
+            return pool;
+        }
+        LifecycleOwner owner = findLifecycleOwner(context);
+        if (owner == null || owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            return null;
+        }
+        pool = new ContextPool();
+        sPools.put(context, pool);
+        owner.getLifecycle().addObserver((LifecycleEventObserver) (source, event) -> {
+            if (event == Lifecycle.Event.ON_DESTROY) {
+                sPools.remove(context);
+            }
+        });
+        return pool;
+    }
+
+    @Nullable
+    private static LifecycleOwner findLifecycleOwner(Context context) {
+        Context current = context;
+        while (current != null) {
+            if (current instanceof LifecycleOwner) {
+                return (LifecycleOwner) current;
+            }
+            current = current instanceof ContextWrapper ? ((ContextWrapper) current).getBaseContext() : null;
+        }
+        return null;
+    }
+
+    private static class ContextPool {
+
+        private final SparseArray<ArrayDeque<Object>> mItems = new SparseArray<>();
+
+        @Nullable
+        private Configuration mConfiguration;
+
+        @Nullable
+        Object obtain(int layoutId, Configuration configuration) {
+            ensureConfiguration(configuration);
+            ArrayDeque<Object> items = mItems.get(layoutId);
+            return items == null ? null : items.pollFirst();
+        }
+
+        boolean release(int layoutId, Object item, int maxSize, Configuration configuration) {
+            ensureConfiguration(configuration);
+            ArrayDeque<Object> items = mItems.get(layoutId);
+            if (items == null) {
+                items = new ArrayDeque<>(maxSize);
+                mItems.put(layoutId, items);
+            }
+            if (items.size() < maxSize) {
+                items.addLast(item);
+                return true;
+            }
+            return false;
+        }
+
+        int size(int layoutId, Configuration configuration) {
+            ensureConfiguration(configuration);
+            ArrayDeque<Object> items = mItems.get(layoutId);
+            return items == null ? 0 : items.size();
+        }
+
+        /* the items inflated with another configuration are dropped. */
+        private void ensureConfiguration(Configuration configuration) {
+            if (!configuration.equals(mConfiguration)) {
+                mItems.clear();
+                mConfiguration = new Configuration(configuration);
+            }
+        }
+
+    }
+
+}
@@ -11,6 +11,12 @@ import static com.android.base.fragment.ui.StateLayoutConfig.SERVER_ERROR;
 
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.SystemClock;
 import android.util.AttributeSet;
 import android.util.SparseArray;
 import android.view.LayoutInflater;
@@ -21,9 +27,13 @@ import android.widget.FrameLayout;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import androidx.swiperefreshlayout.widget.CircularProgressDrawable;
 
 import com.android.base.fragment.R;
+import com.android.base.fragment.ui.CommonId;
 import com.android.base.fragment.ui.StateLayoutConfig.ViewState;
+import com.android.base.fragment.ui.StateMetrics;
 
 /**
  * View that contains 7 different states: Content, Error/NetError/ServerError, Empty, and Loading/Request.
@@ -45,6 +55,51 @@ public class MultiStateLayout extends FrameLayout {
     @ViewState
     private int mViewState = CONTENT;
 
+    @ViewState
+    private int mRequestedState = CONTENT;
+
+    private long mShowDelay = 0;
+    private long mMinShowTime = 0;
+    /* the time when LOADING/REQUESTING was shown, -1 if neither of them is shown. */
+    private long mDelayedStateShownAt = -1;
+    private final Runnable mApplyRequestedStateRunnable = () -> applyLayoutState(mRequestedState);
+
+    private StateMetrics mStateMetrics;
+
+    private boolean mInitialStateApplied = false;
+
+    private boolean mPreInflate = false;
+    private boolean mPreInflationScheduled = false;
+
+    private boolean mPoolStateViews = false;
+    private boolean mReleaseStateViewsOnDetach = false;
+
+    private boolean mSwitchWithoutLayout = false;
+    private boolean mKeepContentMeasured = false;
+    /* the state view drawn on top when switching without layout. */
+    @Nullable
+    private View mFrontView;
+
+    private boolean mSkeletonLoading = false;
+    private boolean mSkeletonVisible = false;
+    @Nullable
+    private ShimmerSkeletonDrawable mSkeletonDrawable;
+    private final Rect mSkeletonBounds = new Rect();
+    private int mSkeletonColor;
+    private int mSkeletonHighlightColor;
+
+    private boolean mRequestingOverlay = false;
+    private boolean mRequestingIndicatorVisible = false;
+    private boolean mBlockingGesture = false;
+    @Nullable
+    private CircularProgressDrawable mRequestingIndicator;
+
+    private static final long DEFAULT_SKELETON_DURATION = 1200;
+    private final MessageQueue.IdleHandler mPreInflationHandler = this::preInflateNextState;
+
+    /* the loading view is usually the first one to show. */
+    private static final int[] PRE_INFLATION_ORDER = {LOADING, EMPTY, ERROR, NET_ERROR, SERVER_ERROR, REQUESTING};
+
     public MultiStateLayout(Context context) {
         this(context, null);
     }
@@ -81,8 +136,28 @@ public class MultiStateLayout extends FrameLayout {
 
         mDisableOperationWhenRequesting = a.getBoolean(R.styleable.MultiStateLayout_msl_disable_when_requesting, false);
         mAlwaysShowContentView = a.getBoolean(R.styleable.MultiStateLayout_msl_always_show_content, false);
+        mPreInflate = a.getBoolean(R.styleable.MultiStateLayout_msl_preInflate, false);
+        mPoolStateViews = a.getBoolean(R.styleable.MultiStateLayout_msl_pool_state_views, false);
+        setSwitchWithoutLayout(a.getBoolean(R.styleable.MultiStateLayout_msl_switch_without_layout, false));
+        mSkeletonLoading = a.getBoolean(R.styleable.MultiStateLayout_msl_skeleton_loading, false);
+        // the default colors have night variants.
+        mSkeletonColor = a.getColor(
+                R.styleable.MultiStateLayout_msl_skeleton_color,
+                ContextCompat.getColor(getContext(), R.color.base_skeleton)
+        );
+        mSkeletonHighlightColor = a.getColor(
+                R.styleable.MultiStateLayout_msl_skeleton_highlight_color,
+                ContextCompat.getColor(getContext(), R.color.base_skeleton_highlight)
+        );
+        mKeepContentMeasured = a.getBoolean(R.styleable.MultiStateLayout_msl_keep_content_measured, false);
+        mRequestingOverlay = a.getBoolean(R.styleable.MultiStateLayout_msl_requesting_overlay, false);
+
+        mShowDelay = Math.max(a.getInt(R.styleable.MultiStateLayout_msl_show_delay, 0), 0);
+        mMinShowTime = Math.max(a.getInt(R.styleable.MultiStateLayout_msl_min_show_time, 0), 0);
 
         ensureInitState(a.getInt(R.styleable.MultiStateLayout_msl_viewState, CONTENT));
+        mRequestedState = mViewState;
+        mStateMetrics = new StateMetrics(mViewState);
 
         a.recycle();
     }
@@ -133,7 +208,39 @@ public class MultiStateLayout extends FrameLayout {
         if (mContentView == null) {
             throw new IllegalArgumentException("Content view is not defined");
         }
-        setView();
+        // the state changes while detached are applied immediately, so only the initial state needs to be applied here.
+        if (!mInitialStateApplied) {
+            mInitialStateApplied = true;
+            setView();
+        }
+        if (mPreInflate) {
+            schedulePreInflation();
+        }
+        if (mSkeletonVisible && mSkeletonDrawable != null) {
+            mSkeletonDrawable.setVisible(true, false);
+        }
+        if (mRequestingIndicatorVisible && mRequestingIndicator != null) {
+            mRequestingIndicator.start();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        cancelPreInflation();
+        if (mSkeletonDrawable != null) {
+            // stop the animation.
+            mSkeletonDrawable.setVisible(false, false);
+        }
+        if (mRequestingIndicator != null) {
+            // its animator is not bound to the window, it would keep running while detached.
+            mRequestingIndicator.stop();
+        }
+        if (mReleaseStateViewsOnDetach) {
+            // it is still attached in this method, so release the views directly.
+            mReleaseStateViewsOnDetach = false;
+            releaseStateViewsToPool();
+        }
     }
 
     /* All of the addView methods have been overridden so that it can obtain the content view via XML
@@ -223,22 +330,152 @@ public class MultiStateLayout extends FrameLayout {
         int viewLayoutId = viewHolder.mViewLayoutId;
 
         if (viewLayoutId > 0) {
-            View newView = mInflater.inflate(viewLayoutId, this, false);
-            newView.setTag(R.id.base_tag_multi_state_view, state);
+            return inflateStateView(state, viewHolder, false);
+        } else {
+            throw new IllegalStateException("the view layout id is invalidate, layout id = " + viewLayoutId + " state = " + state);
+        }
+    }
+
+    /**
+     * The view is taken from the {@link StateViewPool} if pooling is enabled, it is bound again by
+     * {@link StateListener#onStateInflated(int, View)}.
+     *
+     * @param hidden true if the view is inflated ahead of time, it is added without requesting a layout as it is gone, unless
+     *               it should be kept measured by {@link #setSwitchWithoutLayout(boolean)}.
+     */
+    private View inflateStateView(@ViewState int state, ViewHolder viewHolder, boolean hidden) {
+        View newView = mPoolStateViews ? StateViewPool.obtain(getContext(), viewHolder.mViewLayoutId) : null;
+        if (newView == null) {
+            newView = mInflater.inflate(viewHolder.mViewLayoutId, this, false);
+        }
+        newView.setTag(R.id.base_tag_multi_state_view, state);
+        if (hidden && !mSwitchWithoutLayout) {
+            newView.setVisibility(GONE);
+            addViewInLayout(newView, -1, newView.getLayoutParams(), true);
+        } else {
             addView(newView, newView.getLayoutParams());
-            if (mListener != null) {
-                mListener.onStateInflated(state, newView);
+        }
+        if (mListener != null) {
+            mListener.onStateInflated(state, newView);
+        }
+        if (mViewState != state) {
+            newView.setVisibility(mSwitchWithoutLayout ? INVISIBLE : GONE);
+        }
+        viewHolder.mView = newView;
+        return newView;
+    }
+
+    /**
+     * Inflate the declared state views ahead of time, one view per idle pass of the main thread, so that the first switch
+     * to a state does not pay for the inflation. The loading view is inflated first. A state needed before its view is
+     * pre-inflated is still inflated synchronously.
+     * <p>
+     * It can also be enabled by the {@code msl_preInflate} attribute.
+     */
+    public void preInflateStateViews() {
+        mPreInflate = true;
+        if (isAttachedToWindow()) {
+            schedulePreInflation();
+        }
+    }
+
+    private void schedulePreInflation() {
+        if (!mPreInflationScheduled && nextStateToPreInflate() != null) {
+            mPreInflationScheduled = true;
+            Looper.myQueue().addIdleHandler(mPreInflationHandler);
+        }
+    }
+
+    private void cancelPreInflation() {
+        if (mPreInflationScheduled) {
+            mPreInflationScheduled = false;
+            Looper.myQueue().removeIdleHandler(mPreInflationHandler);
+        }
+    }
+
+    private boolean preInflateNextState() {
+        Integer state = nextStateToPreInflate();
+        if (state != null) {
+            inflateStateView(state, mChildren.get(state), true);
+        }
+        mPreInflationScheduled = nextStateToPreInflate() != null;
+        return mPreInflationScheduled;
+    }
+
+    @Nullable
+    private Integer nextStateToPreInflate() {
+        for (int state : PRE_INFLATION_ORDER) {
+            ViewHolder viewHolder = mChildren.get(state);
+            if ((state == LOADING && mSkeletonLoading) || (state == REQUESTING && mRequestingOverlay)) {
+                continue;
             }
-            if (mViewState != state) {
-                newView.setVisibility(GONE);
+            if (viewHolder != null && viewHolder.mView == null && viewHolder.mViewLayoutId > 0) {
+                return state;
             }
-            viewHolder.mView = newView;
-            return newView;
+        }
+        return null;
+    }
+
+    /**
+     * Let the state views be taken from and released to the {@link StateViewPool}, so that the layouts of the next screens
+     * of the same context do not inflate them again. The pooled views are bound again by
+     * {@link StateListener#onStateInflated(int, View)}, so make sure that the listener binds everything a state view needs.
+     * The default is false.
+     * <p>
+     * It can also be enabled by the {@code msl_pool_state_views} attribute.
+     */
+    public void setPoolStateViews(boolean poolStateViews) {
+        mPoolStateViews = poolStateViews;
+    }
+
+    /**
+     * Remove the state views and put them into the {@link StateViewPool} if {@link #setPoolStateViews(boolean) pooling} is
+     * enabled, so that the next layouts can reuse them. Call it when this layout will not be used anymore, for example,
+     * when the view of the fragment is destroyed. If it is still attached, for example, running an exit animation, the
+     * views are released when it is detached.
+     */
+    public void releaseStateViews() {
+        if (!mPoolStateViews) {
+            return;
+        }
+        cancelPreInflation();
+        mPreInflate = false;
+        if (isAttachedToWindow()) {
+            mReleaseStateViewsOnDetach = true;
         } else {
-            throw new IllegalStateException("the view layout id is invalidate, layout id = " + viewLayoutId + " state = " + state);
+            releaseStateViewsToPool();
+        }
+    }
+
+    private void releaseStateViewsToPool() {
+        int size = mChildren.size();
+        for (int i = 0; i < size; i++) {
+            ViewHolder viewHolder = mChildren.valueAt(i);
+            View view = viewHolder.mView;
+            if (view == null || view == mContentView || viewHolder.mViewLayoutId <= 0) {
+                continue;
+            }
+            removeViewInLayout(view);
+            viewHolder.mView = null;
+            if (mFrontView == view) {
+                mFrontView = null;
+            }
+            // the retry listener references this layout, drop it so that the pooled view does not hold this layout.
+            View retryButton = view.findViewById(CommonId.RETRY_BTN_ID);
+            if (retryButton != null) {
+                retryButton.setOnClickListener(null);
+            }
+            onStateViewReleased(mChildren.keyAt(i), view);
+            StateViewPool.release(getContext(), viewHolder.mViewLayoutId, view);
         }
     }
 
+    /**
+     * Called when a state view is removed to be pooled, drop the references to it and to its children.
+     */
+    protected void onStateViewReleased(@ViewState int state, @NonNull View view) {
+    }
+
     /**
      * Returns the current {@link ViewState}
      *
@@ -256,8 +493,42 @@ public class MultiStateLayout extends FrameLayout {
      * @param state The {@link ViewState} to set {@link MultiStateLayout} to
      */
     public void setLayoutState(@ViewState int state) {
+        mRequestedState = state;
+        removeCallbacks(mApplyRequestedStateRunnable);
+
+        if (state == mViewState) {
+            return;
+        }
+
+        // delay showing LOADING/REQUESTING, the state may be changed again before it is shown.
+        if (mShowDelay > 0 && isDelayedState(state) && !isDelayedState(mViewState)) {
+            postDelayed(mApplyRequestedStateRunnable, mShowDelay);
+            return;
+        }
+
+        // keep showing LOADING/REQUESTING for a while once shown, so that it does not flash.
+        if (mMinShowTime > 0 && isDelayedState(mViewState) && !isDelayedState(state) && mDelayedStateShownAt >= 0) {
+            long remaining = mDelayedStateShownAt + mMinShowTime - SystemClock.uptimeMillis();
+            if (remaining > 0) {
+                postDelayed(mApplyRequestedStateRunnable, remaining);
+                return;
+            }
+        }
+
+        applyLayoutState(state);
+    }
+
+    private void applyLayoutState(@ViewState int state) {
         if (state != mViewState) {
+            if (isDelayedState(state)) {
+                if (!isDelayedState(mViewState)) {
+                    mDelayedStateShownAt = SystemClock.uptimeMillis();
+                }
+            } else {
+                mDelayedStateShownAt = -1;
+            }
             mViewState = state;
+            mStateMetrics.recordTransition(state);
             setView();
             if (mListener != null) {
                 mListener.onStateChanged(mViewState);
@@ -265,18 +536,70 @@ public class MultiStateLayout extends FrameLayout {
         }
     }
 
+    private static boolean isDelayedState(@ViewState int state) {
+        return state == LOADING || state == REQUESTING;
+    }
+
+    /**
+     * Returns the metrics of the displayed states since this layout was created.
+     */
+    @NonNull
+    public StateMetrics getStateMetrics() {
+        return mStateMetrics;
+    }
+
+    /**
+     * Returns the last {@link ViewState} set by {@link #setLayoutState(int)}. It may differ from {@link #getViewState()}
+     * while LOADING/REQUESTING is delayed by {@link #setLoadingDisplayPolicy(long, long)}.
+     */
+    @ViewState
+    public int getRequestedViewState() {
+        return mRequestedState;
+    }
+
+    /**
+     * Works like {@link androidx.core.widget.ContentLoadingProgressBar}: LOADING/REQUESTING is only shown if it is still the
+     * requested state after {@code showDelay}, and once shown, it is kept for at least {@code minShowTime}. So a fast load
+     * neither inflates nor lays out the loading view, and the screen does not flash.
+     *
+     * @param showDelay   in milliseconds, 0 to show immediately.
+     * @param minShowTime in milliseconds, 0 to hide immediately.
+     */
+    public void setLoadingDisplayPolicy(long showDelay, long minShowTime) {
+        mShowDelay = Math.max(showDelay, 0);
+        mMinShowTime = Math.max(minShowTime, 0);
+    }
+
     /**
      * Shows the {@link View} based on the {@link ViewState}
      */
     private void setView() {
-        // handle BLANK status.
-        if (mViewState == BLANK) {
+        boolean showSkeleton = mViewState == LOADING && mSkeletonLoading;
+        setSkeletonVisible(showSkeleton);
+
+        boolean showRequestingOverlay = mViewState == REQUESTING && mRequestingOverlay;
+        setRequestingIndicatorVisible(showRequestingOverlay);
+        // only the content is shown, and the indicator is drawn on the overlay, so the children are not reordered.
+        if (showRequestingOverlay) {
             int size = mChildren.size();
             View view;
             for (int i = 0; i < size; i++) {
                 view = mChildren.valueAt(i).mView;
                 if (view != null) {
-                    view.setVisibility(View.GONE);
+                    setVisibilityIfChanged(view, view == mContentView ? VISIBLE : getHiddenVisibility(view));
+                }
+            }
+            return;
+        }
+
+        // handle BLANK status, and LOADING drawn as a skeleton.
+        if (mViewState == BLANK || showSkeleton) {
+            int size = mChildren.size();
+            View view;
+            for (int i = 0; i < size; i++) {
+                view = mChildren.valueAt(i).mView;
+                if (view != null) {
+                    setVisibilityIfChanged(view, getHiddenVisibility(view));
                 }
             }
             return;
@@ -292,22 +615,251 @@ public class MultiStateLayout extends FrameLayout {
             }
             if (viewHolder.mView != curStateView) {
                 if ((mViewState == REQUESTING || mAlwaysShowContentView) && viewHolder.mView == mContentView) {
-                    viewHolder.mView.setVisibility(VISIBLE);
+                    setVisibilityIfChanged(viewHolder.mView, VISIBLE);
                 } else {
-                    viewHolder.mView.setVisibility(GONE);
+                    setVisibilityIfChanged(viewHolder.mView, getHiddenVisibility(viewHolder.mView));
                 }
             }
         }
 
         //handle visibility.
-        curStateView.setVisibility(VISIBLE);
-        curStateView.bringToFront();
+        setVisibilityIfChanged(curStateView, VISIBLE);
+
+        if (mSwitchWithoutLayout) {
+            // reorder the drawing instead of the children, which only needs a redraw.
+            if (mFrontView != curStateView) {
+                mFrontView = curStateView;
+                invalidate();
+            }
+        } else if (indexOfChild(curStateView) != getChildCount() - 1) {
+            // bringToFront() requests a layout even if the view is already in front.
+            curStateView.bringToFront();
+        }
+    }
+
+    /**
+     * Draw LOADING as an animated skeleton instead of inflating the loading view. The skeleton is drawn by this layout over
+     * the area of the content view, so showing it needs no child view and no inflation. Combine it with
+     * {@link #setSwitchWithoutLayout(boolean)} to avoid the layout pass caused by hiding the content.
+     * <p>
+     * It can also be enabled by the {@code msl_skeleton_loading} attribute, the colors of the default skeleton are set by
+     * {@code msl_skeleton_color} and {@code msl_skeleton_highlight_color}.
+     *
+     * @param skeleton the drawable to draw, null to use the default one.
+     */
+    public void setSkeletonLoading(boolean skeletonLoading, @Nullable ShimmerSkeletonDrawable skeleton) {
+        if (mSkeletonDrawable != null) {
+            mSkeletonDrawable.setVisible(false, false);
+            mSkeletonDrawable.setCallback(null);
+        }
+        mSkeletonLoading = skeletonLoading;
+        mSkeletonDrawable = skeleton;
+        mSkeletonVisible = false;
+        if (mInitialStateApplied) {
+            setView();
+        }
+    }
+
+    private void setSkeletonVisible(boolean visible) {
+        if (mSkeletonVisible == visible) {
+            return;
+        }
+        mSkeletonVisible = visible;
+        if (visible && mSkeletonDrawable == null) {
+            mSkeletonDrawable = createDefaultSkeleton();
+        }
+        if (mSkeletonDrawable != null) {
+            mSkeletonDrawable.setCallback(visible ? this : null);
+            mSkeletonDrawable.setVisible(visible && isAttachedToWindow(), true);
+        }
+        invalidate();
+    }
+
+    private ShimmerSkeletonDrawable createDefaultSkeleton() {
+        float density = getResources().getDisplayMetrics().density;
+        return new ShimmerSkeletonDrawable(
+                mSkeletonColor,
+                mSkeletonHighlightColor,
+                2,
+                12 * density,
+                10 * density,
+                16 * density,
+                72 * density,
+                DEFAULT_SKELETON_DURATION
+        );
+    }
+
+    /**
+     * Show REQUESTING as a progress indicator drawn on the {@link #getOverlay() overlay} of this layout instead of inflating
+     * the requesting view. The content hierarchy is not touched when toggling it, and the touches are blocked in
+     * {@link #dispatchTouchEvent(MotionEvent)} if {@link #setDisableOperationWhenRequesting(boolean)} is enabled.
+     * <p>
+     * It can also be enabled by the {@code msl_requesting_overlay} attribute.
+     */
+    public void setRequestingOverlay(boolean requestingOverlay) {
+        if (mRequestingOverlay == requestingOverlay) {
+            return;
+        }
+        mRequestingOverlay = requestingOverlay;
+        if (mInitialStateApplied) {
+            setView();
+        }
+    }
+
+    private void setRequestingIndicatorVisible(boolean visible) {
+        if (mRequestingIndicatorVisible == visible) {
+            return;
+        }
+        mRequestingIndicatorVisible = visible;
+        if (visible) {
+            if (mRequestingIndicator == null) {
+                mRequestingIndicator = new CircularProgressDrawable(getContext());
+                mRequestingIndicator.setStyle(CircularProgressDrawable.LARGE);
+            }
+            updateRequestingIndicatorBounds();
+            getOverlay().add(mRequestingIndicator);
+            if (isAttachedToWindow()) {
+                mRequestingIndicator.start();
+            }
+        } else if (mRequestingIndicator != null) {
+            mRequestingIndicator.stop();
+            getOverlay().remove(mRequestingIndicator);
+        }
+    }
+
+    private void updateRequestingIndicatorBounds() {
+        if (mRequestingIndicator == null) {
+            return;
+        }
+        int size = (int) Math.ceil(2 * (mRequestingIndicator.getCenterRadius() + mRequestingIndicator.getStrokeWidth()));
+        int left = (getWidth() - size) / 2;
+        int top = (getHeight() - size) / 2;
+        mRequestingIndicator.setBounds(left, top, left + size, top + size);
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        updateRequestingIndicatorBounds();
+    }
+
+    @Override
+    public boolean dispatchTouchEvent(MotionEvent ev) {
+        if (!mRequestingOverlay) {
+            return super.dispatchTouchEvent(ev);
+        }
+        int action = ev.getActionMasked();
+        // block the whole gestures started while requesting, the running ones are not interrupted.
+        if (action == MotionEvent.ACTION_DOWN) {
+            mBlockingGesture = mRequestedState == REQUESTING && mDisableOperationWhenRequesting;
+        }
+        if (mBlockingGesture) {
+            if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
+                mBlockingGesture = false;
+            }
+            return true;
+        }
+        return super.dispatchTouchEvent(ev);
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        super.dispatchDraw(canvas);
+        if (mSkeletonVisible && mSkeletonDrawable != null) {
+            updateSkeletonBounds();
+            mSkeletonDrawable.draw(canvas);
+        }
+    }
+
+    /** The skeleton takes the area of the content view, or the padded area if the content has not been laid out. */
+    private void updateSkeletonBounds() {
+        View content = mContentView;
+        if (content != null && content.getWidth() > 0 && content.getHeight() > 0) {
+            mSkeletonBounds.set(content.getLeft(), content.getTop(), content.getRight(), content.getBottom());
+        } else {
+            mSkeletonBounds.set(getPaddingLeft(), getPaddingTop(), getWidth() - getPaddingRight(), getHeight() - getPaddingBottom());
+        }
+        if (!mSkeletonBounds.equals(mSkeletonDrawable.getBounds())) {
+            mSkeletonDrawable.setBounds(mSkeletonBounds);
+        }
+    }
+
+    @Override
+    protected boolean verifyDrawable(@NonNull Drawable who) {
+        return who == mSkeletonDrawable || super.verifyDrawable(who);
+    }
+
+    private int getHiddenVisibility(View view) {
+        if (mSwitchWithoutLayout || (mKeepContentMeasured && view == mContentView)) {
+            return INVISIBLE;
+        }
+        return GONE;
+    }
+
+    /**
+     * Keep the content view {@link #INVISIBLE} instead of {@link #GONE} in the other states, so that it keeps measured and
+     * laid out, and showing it again does not measure the whole content tree, e.g. a RecyclerView with its items.
+     * <p>
+     * The tradeoff: the content keeps its views and the memory they hold while hidden, and it is still measured in every
+     * layout pass of this layout, for example, when the loading view changes its size. Enable it for deep content that is
+     * hidden for a short time, such as during refreshing, rather than for content that is empty most of the time.
+     * <p>
+     * It can also be enabled by the {@code msl_keep_content_measured} attribute. It is implied by
+     * {@link #setSwitchWithoutLayout(boolean)}.
+     */
+    public void setKeepContentMeasured(boolean keepContentMeasured) {
+        if (mKeepContentMeasured == keepContentMeasured) {
+            return;
+        }
+        mKeepContentMeasured = keepContentMeasured;
+        if (mInitialStateApplied) {
+            setView();
+        }
+    }
+
+    private static void setVisibilityIfChanged(View view, int visibility) {
+        if (view.getVisibility() != visibility) {
+            view.setVisibility(visibility);
+        }
+    }
+
+    /**
+     * Switch the states without requesting a layout. The hidden state views are {@link #INVISIBLE} instead of {@link #GONE},
+     * so they keep measured and laid out, and the current state view is drawn on top instead of being brought to front.
+     * It makes the switches cheaper at the cost of measuring all the inflated state views in every layout pass.
+     * <p>
+     * It can also be enabled by the {@code msl_switch_without_layout} attribute.
+     */
+    public void setSwitchWithoutLayout(boolean switchWithoutLayout) {
+        if (mSwitchWithoutLayout == switchWithoutLayout) {
+            return;
+        }
+        mSwitchWithoutLayout = switchWithoutLayout;
+        mFrontView = null;
+        setChildrenDrawingOrderEnabled(switchWithoutLayout);
+        if (mInitialStateApplied) {
+            setView();
+        }
+    }
+
+    @Override
+    protected int getChildDrawingOrder(int childCount, int drawingPosition) {
+        int frontIndex = mFrontView == null ? -1 : indexOfChild(mFrontView);
+        if (frontIndex < 0) {
+            return drawingPosition;
+        }
+        // draw the children in order except that the front view is drawn last.
+        if (drawingPosition == childCount - 1) {
+            return frontIndex;
+        }
+        return drawingPosition < frontIndex ? drawingPosition : drawingPosition + 1;
     }
 
     @Override
     public boolean onInterceptTouchEvent(MotionEvent ev) {
         if (ev.getAction() == MotionEvent.ACTION_DOWN) {
-            if (mViewState == REQUESTING) {
+            // the request is running even if the requesting view is not shown yet.
+            if (mRequestedState == REQUESTING) {
                 return mDisableOperationWhenRequesting;
             } else {
                 return false;
@@ -0,0 +1,115 @@
+package com.android.base.fragment.widget;
+
+import android.graphics.Canvas;
+import android.graphics.LinearGradient;
+import android.graphics.Matrix;
+import android.graphics.Rect;
+import android.graphics.Shader;
+import android.graphics.drawable.Drawable;
+import android.os.SystemClock;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+
+/**
+ * A {@link SkeletonDrawable} that fills its bounds with item skeletons of {@code rowHeight}, and sweeps a highlight across
+ * them while it is visible. The highlight is a {@link LinearGradient} shader moved by its local matrix, so every frame
+ * only redraws the bars.
+ *
+ * @author Ztiany
+ */
+public class ShimmerSkeletonDrawable extends SkeletonDrawable {
+
+    private final Matrix mShaderMatrix = new Matrix();
+
+    private long mStartTime = -1;
+
+    public ShimmerSkeletonDrawable(
+            @ColorInt int color,
+            @ColorInt int highlightColor,
+            int barCount,
+            float barHeight,
+            float barSpacing,
+            float horizontalPadding,
+            float rowHeight,
+            long duration
+    ) {
+        this(new ShimmerState(color, highlightColor, barCount, barHeight, barSpacing, horizontalPadding, rowHeight, duration));
+    }
+
+    ShimmerSkeletonDrawable(ShimmerState state) {
+        super(state);
+    }
+
+    @Override
+    protected void onBoundsChange(@NonNull Rect bounds) {
+        super.onBoundsChange(bounds);
+        ShimmerState state = (ShimmerState) mState;
+        int width = Math.max(bounds.width(), 1);
+        mPaint.setShader(new LinearGradient(
+                0, 0, width, 0,
+                new int[]{state.mColor, state.mHighlightColor, state.mColor},
+                new float[]{0.3F, 0.5F, 0.7F},
+                Shader.TileMode.CLAMP
+        ));
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        Rect bounds = getBounds();
+        ShimmerState state = (ShimmerState) mState;
+        if (bounds.isEmpty() || state.mBarCount <= 0 || state.mRowHeight <= 0) {
+            return;
+        }
+
+        // sweep the highlight from the left outside to the right outside.
+        long now = SystemClock.uptimeMillis();
+        if (mStartTime < 0) {
+            mStartTime = now;
+        }
+        float progress = ((now - mStartTime) % state.mDuration) / (float) state.mDuration;
+        int width = bounds.width();
+        mShaderMatrix.setTranslate(bounds.left - width + 2 * width * progress, 0);
+        mPaint.getShader().setLocalMatrix(mShaderMatrix);
+
+        for (float top = bounds.top; top + state.mRowHeight <= bounds.bottom; top += state.mRowHeight) {
+            drawRow(canvas, bounds.left, top, bounds.right, top + state.mRowHeight);
+        }
+
+        if (isVisible()) {
+            invalidateSelf();
+        }
+    }
+
+    @Override
+    public boolean setVisible(boolean visible, boolean restart) {
+        boolean changed = super.setVisible(visible, restart);
+        if (visible && (changed || restart)) {
+            mStartTime = -1;
+            invalidateSelf();
+        }
+        return changed;
+    }
+
+    static class ShimmerState extends SkeletonState {
+
+        final int mHighlightColor;
+        final float mRowHeight;
+        final long mDuration;
+
+        ShimmerState(int color, int highlightColor, int barCount, float barHeight, float barSpacing, float horizontalPadding, float rowHeight, long duration) {
+            super(color, barCount, barHeight, barSpacing, horizontalPadding);
+            mHighlightColor = highlightColor;
+            mRowHeight = rowHeight;
+            mDuration = Math.max(duration, 1);
+        }
+
+        @NonNull
+        @Override
+        public Drawable newDrawable() {
+            return new ShimmerSkeletonDrawable(this);
+        }
+
+    }
+
+}
@@ -68,6 +68,11 @@ public class SimpleMultiStateLayout extends MultiStateLayout implements StateLay
         mStateProcessor.processStateInflated(viewState, view);
     }
 
+    @Override
+    protected void onStateViewReleased(@ViewState int state, @NonNull View view) {
+        mStateProcessor.processStateReleased(state, view);
+    }
+
     @Override
     public void setStateListener(StateListener listener) {
         mStateListener = listener;
@@ -118,10 +123,14 @@ public class SimpleMultiStateLayout extends MultiStateLayout implements StateLay
         return mStateProcessor.getStateLayoutConfigImpl();
     }
 
+    /**
+     * Returns the requested state so that the handlers see the state they have just set, use {@link #getViewState()} for
+     * the displayed one.
+     */
     @Override
     @ViewState
     public int currentStatus() {
-        return getViewState();
+        return getRequestedViewState();
     }
 
 }
@@ -0,0 +1,133 @@
+package com.android.base.fragment.widget;
+
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Draws the skeleton of a list item: some rounded bars centered vertically, the last one is shorter.
+ * <p>
+ * The drawables created by {@link #newPlaceholder()} share the same {@link ConstantState}, so a lot of placeholders cost
+ * nearly nothing but the views holding them.
+ *
+ * @author Ztiany
+ */
+public class SkeletonDrawable extends Drawable {
+
+    private static final float LAST_BAR_WIDTH_FRACTION = 0.6F;
+
+    final SkeletonState mState;
+
+    final Paint mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    private final RectF mBarRect = new RectF();
+
+    public SkeletonDrawable(@ColorInt int color, int barCount, float barHeight, float barSpacing, float horizontalPadding) {
+        this(new SkeletonState(color, barCount, barHeight, barSpacing, horizontalPadding));
+    }
+
+    SkeletonDrawable(SkeletonState state) {
+        mState = state;
+        mPaint.setColor(state.mColor);
+    }
+
+    /**
+     * Create a drawable that shares the state with this one. A drawable can only be attached to one view, so use it to
+     * set the backgrounds of the placeholders.
+     */
+    @NonNull
+    public Drawable newPlaceholder() {
+        return mState.newDrawable();
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        Rect bounds = getBounds();
+        if (bounds.isEmpty() || mState.mBarCount <= 0) {
+            return;
+        }
+        drawRow(canvas, bounds.left, bounds.top, bounds.right, bounds.bottom);
+    }
+
+    /** Draw the bars of an item in the given area. */
+    void drawRow(@NonNull Canvas canvas, float rowLeft, float rowTop, float rowRight, float rowBottom) {
+        SkeletonState state = mState;
+        float contentHeight = state.mBarCount * state.mBarHeight + (state.mBarCount - 1) * state.mBarSpacing;
+        float top = rowTop + (rowBottom - rowTop - contentHeight) / 2F;
+        float left = rowLeft + state.mHorizontalPadding;
+        float right = rowRight - state.mHorizontalPadding;
+        float radius = state.mBarHeight / 2F;
+
+        for (int i = 0; i < state.mBarCount; i++) {
+            float barRight = i == state.mBarCount - 1 && state.mBarCount > 1 ? left + (right - left) * LAST_BAR_WIDTH_FRACTION : right;
+            mBarRect.set(left, top, barRight, top + state.mBarHeight);
+            drawBar(canvas, mBarRect, radius);
+            top += state.mBarHeight + state.mBarSpacing;
+        }
+    }
+
+    void drawBar(@NonNull Canvas canvas, @NonNull RectF rect, float radius) {
+        canvas.drawRoundRect(rect, radius, radius, mPaint);
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        mPaint.setAlpha(alpha);
+        invalidateSelf();
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        mPaint.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    @Nullable
+    @Override
+    public ConstantState getConstantState() {
+        return mState;
+    }
+
+    static class SkeletonState extends ConstantState {
+
+        final int mColor;
+        final int mBarCount;
+        final float mBarHeight;
+        final float mBarSpacing;
+        final float mHorizontalPadding;
+
+        SkeletonState(int color, int barCount, float barHeight, float barSpacing, float horizontalPadding) {
+            mColor = color;
+            mBarCount = barCount;
+            mBarHeight = barHeight;
+            mBarSpacing = barSpacing;
+            mHorizontalPadding = horizontalPadding;
+        }
+
+        @NonNull
+        @Override
+        public Drawable newDrawable() {
+            return new SkeletonDrawable(this);
+        }
+
+        @Override
+        public int getChangingConfigurations() {
+            return 0;
+        }
+
+    }
+
+}
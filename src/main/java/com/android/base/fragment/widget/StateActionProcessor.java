@@ -5,9 +5,11 @@ import static com.android.base.fragment.ui.StateLayoutConfig.ERROR;
 import static com.android.base.fragment.ui.StateLayoutConfig.NET_ERROR;
 import static com.android.base.fragment.ui.StateLayoutConfig.SERVER_ERROR;
 
+import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.drawable.Drawable;
 import android.text.TextUtils;
+import android.util.TypedValue;
 import android.view.View;
 import android.widget.Button;
 import android.widget.ImageView;
@@ -15,7 +17,7 @@ import android.widget.TextView;
 
 import androidx.annotation.DrawableRes;
 import androidx.annotation.NonNull;
-import androidx.core.content.ContextCompat;
+import androidx.annotation.StringRes;
 
 import com.android.base.fragment.R;
 import com.android.base.fragment.ui.CommonId;
@@ -42,27 +44,43 @@ class StateActionProcessor extends StateProcessor {
         mSimpleMultiStateLayout = simpleMultiStateLayout;
     }
 
+    /**
+     * Only the resource ids are kept here, the drawables and texts are resolved when the state views are inflated, as most
+     * screens never show some of the states.
+     */
     @Override
     public void onParseAttrs(TypedArray typedArray) {
         mErrorViewInfo = new ViewInfo(ERROR);
-        mErrorViewInfo.mDrawable = typedArray.getDrawable(R.styleable.SimpleMultiStateLayout_msl_errorImg);
-        mErrorViewInfo.mMessage = typedArray.getText(R.styleable.SimpleMultiStateLayout_msl_errorText);
-        mErrorViewInfo.mActionText = typedArray.getText(R.styleable.SimpleMultiStateLayout_msl_errorAction);
+        mErrorViewInfo.parseAttrs(
+                typedArray,
+                R.styleable.SimpleMultiStateLayout_msl_errorImg,
+                R.styleable.SimpleMultiStateLayout_msl_errorText,
+                R.styleable.SimpleMultiStateLayout_msl_errorAction
+        );
 
         mEmptyViewInfo = new ViewInfo(EMPTY);
-        mEmptyViewInfo.mDrawable = typedArray.getDrawable(R.styleable.SimpleMultiStateLayout_msl_emptyImg);
-        mEmptyViewInfo.mMessage = typedArray.getText(R.styleable.SimpleMultiStateLayout_msl_emptyText);
-        mEmptyViewInfo.mActionText = typedArray.getText(R.styleable.SimpleMultiStateLayout_msl_emptyAction);
+        mEmptyViewInfo.parseAttrs(
+                typedArray,
+                R.styleable.SimpleMultiStateLayout_msl_emptyImg,
+                R.styleable.SimpleMultiStateLayout_msl_emptyText,
+                R.styleable.SimpleMultiStateLayout_msl_emptyAction
+        );
 
         mNetErrorViewInfo = new ViewInfo(NET_ERROR);
-        mNetErrorViewInfo.mDrawable = typedArray.getDrawable(R.styleable.SimpleMultiStateLayout_msl_net_errorImg);
-        mNetErrorViewInfo.mMessage = typedArray.getText(R.styleable.SimpleMultiStateLayout_msl_net_errorText);
-        mNetErrorViewInfo.mActionText = typedArray.getText(R.styleable.SimpleMultiStateLayout_msl_net_errorAction);
+        mNetErrorViewInfo.parseAttrs(
+                typedArray,
+                R.styleable.SimpleMultiStateLayout_msl_net_errorImg,
+                R.styleable.SimpleMultiStateLayout_msl_net_errorText,
+                R.styleable.SimpleMultiStateLayout_msl_net_errorAction
+        );
 
         mServerErrorViewInfo = new ViewInfo(SERVER_ERROR);
-        mServerErrorViewInfo.mDrawable = typedArray.getDrawable(R.styleable.SimpleMultiStateLayout_msl_server_errorImg);
-        mServerErrorViewInfo.mMessage = typedArray.getText(R.styleable.SimpleMultiStateLayout_msl_server_errorText);
-        mServerErrorViewInfo.mActionText = typedArray.getText(R.styleable.SimpleMultiStateLayout_msl_server_errorAction);
+        mServerErrorViewInfo.parseAttrs(
+                typedArray,
+                R.styleable.SimpleMultiStateLayout_msl_server_errorImg,
+                R.styleable.SimpleMultiStateLayout_msl_server_errorText,
+                R.styleable.SimpleMultiStateLayout_msl_server_errorAction
+        );
     }
 
     @Override
@@ -78,6 +96,13 @@ class StateActionProcessor extends StateProcessor {
         }
     }
 
+    @Override
+    public void processStateReleased(@StateLayoutConfig.ViewState int viewState, @NonNull View view) {
+        if (viewState == ERROR || viewState == EMPTY || viewState == NET_ERROR || viewState == SERVER_ERROR) {
+            getViewInfoForState(viewState).clearStateView();
+        }
+    }
+
     private StateActionProcessor.ViewInfo getViewInfoForState(@StateLayoutConfig.ViewState int viewState) {
         if (viewState == EMPTY) {
             return mEmptyViewInfo;
@@ -102,6 +127,13 @@ class StateActionProcessor extends StateProcessor {
         private Drawable mDrawable;
         private CharSequence mMessage;
         private CharSequence mActionText;
+        /* the resources to resolve when the state view is inflated, 0 if there is none or it is resolved. */
+        @DrawableRes
+        private int mDrawableResId;
+        @StringRes
+        private int mMessageResId;
+        @StringRes
+        private int mActionTextResId;
         private TextView mMessageTv;
         private ImageView mIconTv;
         private Button mActionBtn;
@@ -110,6 +142,30 @@ class StateActionProcessor extends StateProcessor {
             mState = state;
         }
 
+        void parseAttrs(TypedArray typedArray, int drawableIndex, int messageIndex, int actionTextIndex) {
+            mDrawableResId = typedArray.getResourceId(drawableIndex, 0);
+            if (mDrawableResId == 0 && typedArray.hasValue(drawableIndex)) {
+                // a color value, it is cheap to resolve.
+                mDrawable = typedArray.getDrawable(drawableIndex);
+            }
+            mMessageResId = getStringResId(typedArray, messageIndex);
+            if (mMessageResId == 0) {
+                mMessage = typedArray.getText(messageIndex);
+            }
+            mActionTextResId = getStringResId(typedArray, actionTextIndex);
+            if (mActionTextResId == 0) {
+                mActionText = typedArray.getText(actionTextIndex);
+            }
+        }
+
+        private int getStringResId(TypedArray typedArray, int index) {
+            TypedValue value = typedArray.peekValue(index);
+            if (value != null && value.type == TypedValue.TYPE_STRING) {
+                return value.resourceId;
+            }
+            return 0;
+        }
+
         void setStateView(View stateView) {
             mIconTv = stateView.findViewById(CommonId.RETRY_IV_ID);
             mMessageTv = stateView.findViewById(CommonId.RETRY_TV_ID);
@@ -119,13 +175,45 @@ class StateActionProcessor extends StateProcessor {
                     mOnRetryActionListener.onRetry(mState);
                 }
             });
+
+            Context context = stateView.getContext();
+            if (mDrawableResId != 0) {
+                mDrawable = StateDrawableCache.getDrawable(context, mDrawableResId);
+                mDrawableResId = 0;
+            }
+            if (mMessageResId != 0) {
+                mMessage = context.getText(mMessageResId);
+                mMessageResId = 0;
+            }
+            if (mActionTextResId != 0) {
+                mActionText = context.getText(mActionTextResId);
+                mActionTextResId = 0;
+            }
+
             setActionText(mActionText);
             setMessage(mMessage);
             setDrawable(mDrawable);
         }
 
+        /* the texts and the drawable are kept, they are bound to the next state view. */
+        void clearStateView() {
+            mIconTv = null;
+            mMessageTv = null;
+            mActionBtn = null;
+        }
+
+        void setDrawable(@DrawableRes int drawableId) {
+            if (mIconTv != null) {
+                setDrawable(StateDrawableCache.getDrawable(mIconTv.getContext(), drawableId));
+            } else {
+                mDrawable = null;
+                mDrawableResId = drawableId;
+            }
+        }
+
         void setDrawable(Drawable drawable) {
             mDrawable = drawable;
+            mDrawableResId = 0;
             if (mIconTv != null) {
                 mIconTv.setImageDrawable(drawable);
             }
@@ -133,6 +221,7 @@ class StateActionProcessor extends StateProcessor {
 
         void setMessage(CharSequence message) {
             mMessage = message;
+            mMessageResId = 0;
             if (mMessageTv != null) {
                 mMessageTv.setText(mMessage);
             }
@@ -140,6 +229,7 @@ class StateActionProcessor extends StateProcessor {
 
         void setActionText(CharSequence actionText) {
             mActionText = actionText;
+            mActionTextResId = 0;
             if (mActionBtn == null) {
                 return;
             }
@@ -168,7 +258,7 @@ class StateActionProcessor extends StateProcessor {
 
         @Override
         public StateLayoutConfig setStateIcon(@ViewState int state, @DrawableRes int drawableId) {
-            getViewInfoForState(state).setDrawable(ContextCompat.getDrawable(mSimpleMultiStateLayout.getContext(), drawableId));
+            getViewInfoForState(state).setDrawable(drawableId);
             return this;
         }
 
@@ -190,6 +280,12 @@ class StateActionProcessor extends StateProcessor {
             return this;
         }
 
+        @Override
+        public StateLayoutConfig setLoadingDisplayPolicy(long showDelay, long minShowTime) {
+            mSimpleMultiStateLayout.setLoadingDisplayPolicy(showDelay, minShowTime);
+            return this;
+        }
+
         @Override
         public void setStateLayoutListener(StateListener stateListener) {
             mSimpleMultiStateLayout.setStateListener(stateListener);
@@ -0,0 +1,65 @@
+package com.android.base.fragment.widget;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+import android.util.SparseArray;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Caches the {@link Drawable.ConstantState}s of the state icons, so that the state views of all the screens share the decoded
+ * images. The states are cached per theme, as the drawables may refer to theme attributes, and are dropped when the
+ * configuration changes.
+ * <p>
+ * Notes: it is not thread-safe, use it on the main thread.
+ *
+ * @author Ztiany
+ */
+final class StateDrawableCache {
+
+    private static final Map<Resources.Theme, SparseArray<Drawable.ConstantState>> sCache = new WeakHashMap<>();
+
+    @Nullable
+    private static Configuration sConfiguration;
+
+    private StateDrawableCache() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Nullable
+    static Drawable getDrawable(@NonNull Context context, @DrawableRes int drawableId) {
+        Resources resources = context.getResources();
+        Configuration configuration = resources.getConfiguration();
+        if (!configuration.equals(sConfiguration)) {
+            sCache.clear();
+            sConfiguration = new Configuration(configuration);
+        }
+
+        Resources.Theme theme = context.getTheme();
+        SparseArray<Drawable.ConstantState> states = sCache.get(theme);
+        if (states == null) {
+            states = new SparseArray<>();
+            sCache.put(theme, states);
+        }
+
+        Drawable.ConstantState state = states.get(drawableId);
+        if (state != null) {
+            return state.newDrawable(resources, theme);
+        }
+
+        Drawable drawable = ContextCompat.getDrawable(context, drawableId);
+        if (drawable != null && drawable.getConstantState() != null) {
+            states.put(drawableId, drawable.getConstantState());
+        }
+        return drawable;
+    }
+
+}
@@ -18,6 +18,10 @@ public abstract class StateProcessor {
 
     protected abstract void processStateInflated(@StateLayoutConfig.ViewState int viewState, @NonNull View view);
 
+    /** Called when the state view is removed to be pooled, the references to it should be dropped. */
+    protected void processStateReleased(@StateLayoutConfig.ViewState int viewState, @NonNull View view) {
+    }
+
     protected abstract StateLayoutConfig getStateLayoutConfigImpl();
 
 }
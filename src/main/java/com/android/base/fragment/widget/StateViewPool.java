@@ -0,0 +1,74 @@
+package com.android.base.fragment.widget;
+
+import android.content.Context;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.android.base.fragment.R;
+
+/**
+ * The pool of the state views released by destroyed {@link MultiStateLayout}s that enabled
+ * {@link MultiStateLayout#setPoolStateViews(boolean) pooling}, so that the next layouts can take them instead of inflating
+ * the same layouts again. The views are kept by {@link ContextViewPool}, at most {@link #MAX_VIEWS_PER_LAYOUT} views of a
+ * layout for a context.
+ * <p>
+ * The released views are reset to the defaults of the properties that the layouts and the common animations change, the
+ * rest are bound again by {@link StateListener#onStateInflated(int, View)}.
+ * <p>
+ * Notes: it is not thread-safe, use it on the main thread.
+ *
+ * @author Ztiany
+ */
+public final class StateViewPool {
+
+    private static final int MAX_VIEWS_PER_LAYOUT = 2;
+
+    private static int sHitCount;
+    private static int sMissCount;
+
+    private StateViewPool() {
+        throw new UnsupportedOperationException();
+    }
+
+    /** The count of the state views taken from the pool. */
+    public static int getHitCount() {
+        return sHitCount;
+    }
+
+    /** The count of the state views that have to be inflated because the pool has none. */
+    public static int getMissCount() {
+        return sMissCount;
+    }
+
+    @Nullable
+    static View obtain(@NonNull Context context, int layoutId) {
+        View view = ContextViewPool.obtain(context, layoutId);
+        if (view == null) {
+            sMissCount++;
+        } else {
+            sHitCount++;
+        }
+        return view;
+    }
+
+    static void release(@NonNull Context context, int layoutId, @NonNull View view) {
+        resetView(view);
+        ContextViewPool.release(context, layoutId, view, MAX_VIEWS_PER_LAYOUT);
+    }
+
+    private static void resetView(@NonNull View view) {
+        view.animate().cancel();
+        view.clearAnimation();
+        view.setAlpha(1F);
+        view.setTranslationX(0F);
+        view.setTranslationY(0F);
+        view.setScaleX(1F);
+        view.setScaleY(1F);
+        view.setRotation(0F);
+        view.setVisibility(View.VISIBLE);
+        view.setTag(R.id.base_tag_multi_state_view, null);
+    }
+
+}
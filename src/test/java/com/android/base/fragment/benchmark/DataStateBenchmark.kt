@@ -0,0 +1,87 @@
+package com.android.base.fragment.benchmark
+
+import com.android.base.fragment.state.DataState
+import com.android.base.fragment.state.SimpleDataState
+import com.android.base.fragment.state.handleFlowDataState
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.flow.MutableStateFlow
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks the handling of [DataState]s holding lists from 100 to 100k items. `handleDataState` shares the handler
+ * with [handleFlowDataState], which is measured here as the screens use it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+open class DataStateBenchmark {
+
+    @Param("100", "1000", "10000", "100000")
+    @JvmField
+    var size = 0
+
+    private lateinit var loadedStates: Array<SimpleDataState<List<Item>>>
+    private lateinit var refreshingStates: Array<SimpleDataState<List<Item>>>
+
+    private lateinit var scope: CoroutineScope
+    private lateinit var host: FakeStateLayoutHost
+    private lateinit var stateFlow: MutableStateFlow<DataState<List<Item>>>
+
+    private var dispatchedCount = 0
+
+    /* alternate between two different lists, so that every update is dispatched. */
+    private var flip = false
+
+    @Setup
+    fun setUp() {
+        loadedStates = arrayOf(SimpleDataState(data = items(0, size, "a")), SimpleDataState(data = items(0, size, "b")))
+        refreshingStates = arrayOf(loadedStates[0].copy(isRefreshing = true), loadedStates[1].copy(isRefreshing = true))
+
+        scope = CoroutineScope(SupervisorJob() + Dispatchers.Unconfined)
+        host = FakeStateLayoutHost()
+        stateFlow = MutableStateFlow<DataState<List<Item>>>(SimpleDataState(isRefreshing = true))
+        with(scope) {
+            host.handleFlowDataState(stateFlow) {
+                onResult {
+                    dispatchedCount++
+                }
+            }
+        }
+    }
+
+    @TearDown
+    fun tearDown() {
+        scope.cancel()
+    }
+
+    /** Refreshing with the old data, then the new data is loaded. */
+    @Benchmark
+    fun refreshThroughPipeline(blackhole: Blackhole) {
+        flip = !flip
+        val index = if (flip) 0 else 1
+        stateFlow.value = refreshingStates[1 - index]
+        stateFlow.value = loadedStates[index]
+        blackhole.consume(dispatchedCount)
+        blackhole.consume(host.layoutSwitchCount)
+    }
+
+}
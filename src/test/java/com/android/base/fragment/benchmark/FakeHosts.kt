@@ -0,0 +1,112 @@
+package com.android.base.fragment.benchmark
+
+import com.android.base.fragment.ui.ListLayoutHost
+import com.android.base.fragment.ui.PagingLayoutHost
+import com.android.base.fragment.ui.StateLayoutConfig
+import com.android.base.fragment.ui.StateMetrics
+
+/** A host without views, it only records the calls, so that the benchmarks measure the state pipelines. */
+open class FakeStateLayoutHost : PagingLayoutHost {
+
+    var layoutSwitchCount = 0
+        private set
+
+    @StateLayoutConfig.ViewState
+    private var status = StateLayoutConfig.BLANK
+
+    /* StateMetrics reads SystemClock, it is only created if asked, so the benchmarks never touch the Android stubs. */
+    private val stateMetrics by lazy { StateMetrics(StateLayoutConfig.BLANK) }
+
+    private var refreshing = false
+
+    private fun switchTo(@StateLayoutConfig.ViewState state: Int) {
+        if (status != state) {
+            status = state
+            layoutSwitchCount++
+        }
+    }
+
+    override fun showContentLayout() = switchTo(StateLayoutConfig.CONTENT)
+
+    override fun showLoadingLayout() = switchTo(StateLayoutConfig.LOADING)
+
+    override fun showEmptyLayout() = switchTo(StateLayoutConfig.EMPTY)
+
+    override fun showErrorLayout() = switchTo(StateLayoutConfig.ERROR)
+
+    override fun showRequesting() = switchTo(StateLayoutConfig.REQUESTING)
+
+    override fun showBlank() = switchTo(StateLayoutConfig.BLANK)
+
+    override fun showNetErrorLayout() = switchTo(StateLayoutConfig.NET_ERROR)
+
+    override fun showServerErrorLayout() = switchTo(StateLayoutConfig.SERVER_ERROR)
+
+    override fun getStateLayoutConfig(): StateLayoutConfig {
+        throw UnsupportedOperationException("FakeStateLayoutHost has no state layout.")
+    }
+
+    override fun currentStatus(): Int = status
+
+    override fun getStateMetrics(): StateMetrics = stateMetrics
+
+    override fun autoRefresh() {
+        refreshing = true
+    }
+
+    override fun setRefreshing() {
+        refreshing = true
+    }
+
+    override fun refreshCompleted() {
+        refreshing = false
+    }
+
+    override fun isRefreshing(): Boolean = refreshing
+
+    override var isRefreshEnable: Boolean = true
+
+}
+
+class FakeListLayoutHost<T> : FakeStateLayoutHost(), ListLayoutHost<T> {
+
+    var submitCount = 0
+        private set
+
+    private var list: List<T> = emptyList()
+
+    private var loadingMore = false
+
+    override fun submitData(data: List<T>) {
+        list = data
+        submitCount++
+    }
+
+    override fun isEmpty(): Boolean = list.isEmpty()
+
+    override fun getListSize(): Int = list.size
+
+    override fun loadMoreCompleted(hasMore: Boolean) {
+        loadingMore = false
+    }
+
+    override fun loadMoreFailed() {
+        loadingMore = false
+    }
+
+    override fun isLoadingMore(): Boolean = loadingMore
+
+    override fun setLoadingMore() {
+        loadingMore = true
+    }
+
+    override var isLoadMoreEnable: Boolean = true
+
+}
+
+data class Item(val id: Long, val title: String)
+
+/** Create [count] items whose ids start from [startId], [titleSuffix] makes the lists with the same ids different. */
+fun items(startId: Long, count: Int, titleSuffix: String = ""): List<Item> {
+    return List(count) { Item(startId + it, "item ${startId + it}$titleSuffix") }
+}
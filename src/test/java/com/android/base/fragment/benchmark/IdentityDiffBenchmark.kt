@@ -0,0 +1,106 @@
+package com.android.base.fragment.benchmark
+
+import androidx.recyclerview.widget.DiffUtil
+import com.android.base.fragment.list.paging3.ContentHash
+import com.android.base.fragment.list.paging3.LongIdentity
+import com.android.base.fragment.list.paging3.LongIdentityItemDiffCallback
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks [DiffUtil.calculateDiff] over 10k items with [LongIdentityItemDiffCallback], comparing the contents by
+ * [Any.equals] and by the default [ContentHash] comparison. [changedPercent] of the items have a changed last property,
+ * which [Any.equals] only finds after comparing all the other properties, and the rest are equal copies.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+open class IdentityDiffBenchmark {
+
+    @Param("0", "10", "100")
+    @JvmField
+    var changedPercent = 0
+
+    private lateinit var oldList: List<Post>
+    private lateinit var newList: List<Post>
+
+    private val equalsCallback = LongIdentityItemDiffCallback<Post>(areTheContentsSame = { old, new -> old == new })
+    private val contentHashCallback = LongIdentityItemDiffCallback<Post>()
+
+    @Setup
+    fun setUp() {
+        oldList = List(SIZE) { post(it.toLong(), likeCount = 0) }
+        newList = List(SIZE) {
+            // copies, so that the items are not compared by identity.
+            post(it.toLong(), likeCount = if (it % 100 < changedPercent) 1 else 0)
+        }
+    }
+
+    @Benchmark
+    fun diffByEquals(): DiffUtil.DiffResult {
+        return DiffUtil.calculateDiff(ListDiffCallback(oldList, newList, equalsCallback))
+    }
+
+    @Benchmark
+    fun diffByContentHash(): DiffUtil.DiffResult {
+        return DiffUtil.calculateDiff(ListDiffCallback(oldList, newList, contentHashCallback))
+    }
+
+    data class Post(
+        override val id: Long,
+        val author: String,
+        val title: String,
+        val tags: List<String>,
+        val likeCount: Int,
+    ) : LongIdentity, ContentHash {
+        override val contentHash: Int = hashCode()
+    }
+
+    private class ListDiffCallback(
+        private val oldList: List<Post>,
+        private val newList: List<Post>,
+        private val itemCallback: DiffUtil.ItemCallback<Post>,
+    ) : DiffUtil.Callback() {
+
+        override fun getOldListSize(): Int = oldList.size
+
+        override fun getNewListSize(): Int = newList.size
+
+        override fun areItemsTheSame(oldItemPosition: Int, newItemPosition: Int): Boolean {
+            return itemCallback.areItemsTheSame(oldList[oldItemPosition], newList[newItemPosition])
+        }
+
+        override fun areContentsTheSame(oldItemPosition: Int, newItemPosition: Int): Boolean {
+            return itemCallback.areContentsTheSame(oldList[oldItemPosition], newList[newItemPosition])
+        }
+
+        override fun getChangePayload(oldItemPosition: Int, newItemPosition: Int): Any? {
+            return itemCallback.getChangePayload(oldList[oldItemPosition], newList[newItemPosition])
+        }
+
+    }
+
+    private companion object {
+
+        const val SIZE = 10_000
+
+        fun post(id: Long, likeCount: Int): Post {
+            return Post(id, "author $id", "the title of post $id", List(8) { "tag $it of $id" }, likeCount)
+        }
+
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.android.base.fragment.benchmark
+
+import com.android.base.fragment.list.ListState
+import com.android.base.fragment.list.SimpleListState
+import com.android.base.fragment.list.handleListState
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.flow.MutableStateFlow
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks [SimpleListState.appendList] and the [handleListState] pipeline with lists from 100 to 100k items. The
+ * pipeline runs on [Dispatchers.Unconfined], so an update of the state is handled before the assignment returns.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+open class ListStateBenchmark {
+
+    @Param("100", "1000", "10000", "100000")
+    @JvmField
+    var size = 0
+
+    private lateinit var loadedState: SimpleListState<Item>
+    private lateinit var refreshedStates: Array<SimpleListState<Item>>
+    private lateinit var pages: Array<List<Item>>
+
+    private lateinit var scope: CoroutineScope
+    private lateinit var host: FakeListLayoutHost<Item>
+    private lateinit var stateFlow: MutableStateFlow<ListState<Item, *>>
+
+    /* alternate between two different lists, so that every update is submitted. */
+    private var flip = false
+
+    @Setup
+    fun setUp() {
+        loadedState = SimpleListState(data = items(0, size), hasMore = true)
+        refreshedStates = arrayOf(
+            SimpleListState(data = items(0, size, "a"), hasMore = true),
+            SimpleListState(data = items(0, size, "b"), hasMore = true),
+        )
+        pages = arrayOf(items(size.toLong(), PAGE_SIZE, "a"), items(size.toLong(), PAGE_SIZE, "b"))
+
+        scope = CoroutineScope(SupervisorJob() + Dispatchers.Unconfined)
+        host = FakeListLayoutHost()
+        stateFlow = MutableStateFlow<ListState<Item, *>>(loadedState)
+        with(scope) {
+            host.handleListState(stateFlow)
+        }
+    }
+
+    @TearDown
+    fun tearDown() {
+        scope.cancel()
+    }
+
+    @Benchmark
+    fun appendList(): SimpleListState<Item> {
+        return loadedState.appendList(pages[0], true)
+    }
+
+    /** Loading more, then a page is appended. */
+    @Benchmark
+    fun loadMoreThroughPipeline(blackhole: Blackhole) {
+        flip = !flip
+        stateFlow.value = loadedState.toLoadingMore()
+        stateFlow.value = loadedState.appendList(pages[if (flip) 0 else 1], true)
+        blackhole.consume(host.submitCount)
+    }
+
+    /** Refreshing, then the list is replaced. */
+    @Benchmark
+    fun refreshThroughPipeline(blackhole: Blackhole) {
+        flip = !flip
+        val refreshed = refreshedStates[if (flip) 0 else 1]
+        stateFlow.value = refreshed.toRefreshing()
+        stateFlow.value = refreshed
+        blackhole.consume(host.submitCount)
+    }
+
+    private companion object {
+        const val PAGE_SIZE = 20
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.android.base.fragment.benchmark
+
+import androidx.paging.CombinedLoadStates
+import androidx.paging.LoadState
+import androidx.paging.LoadStates
+import com.android.base.fragment.list.paging3.PagingDataHandlerBuilder
+import com.android.base.fragment.list.paging3.handleLoadStates
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.MutableStateFlow
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks the load-state handling of `handlePagingData` with the load states of a [androidx.paging.PagingDataAdapter]
+ * holding 100 to 100k items.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+open class PagingLoadStateBenchmark {
+
+    @Param("100", "1000", "10000", "100000")
+    @JvmField
+    var size = 0
+
+    private lateinit var scope: CoroutineScope
+    private lateinit var host: FakeStateLayoutHost
+    private lateinit var loadStateFlow: MutableStateFlow<CombinedLoadStates>
+    private lateinit var onPagesUpdatedFlow: MutableSharedFlow<Unit>
+
+    private var itemCount = 0
+
+    @Setup
+    fun setUp() {
+        scope = CoroutineScope(SupervisorJob() + Dispatchers.Unconfined)
+        host = FakeStateLayoutHost()
+        loadStateFlow = MutableStateFlow(REFRESH_LOADING)
+        onPagesUpdatedFlow = MutableSharedFlow(extraBufferCapacity = 1)
+        with(scope) {
+            host.handleLoadStates(loadStateFlow, onPagesUpdatedFlow, { itemCount }, PagingDataHandlerBuilder<Item>())
+        }
+        itemCount = size
+        loadStateFlow.value = IDLE
+        onPagesUpdatedFlow.tryEmit(Unit)
+    }
+
+    @TearDown
+    fun tearDown() {
+        scope.cancel()
+    }
+
+    /** A page is appended. */
+    @Benchmark
+    fun appendRoundTrip(blackhole: Blackhole) {
+        loadStateFlow.value = APPEND_LOADING
+        itemCount += PAGE_SIZE
+        loadStateFlow.value = IDLE
+        onPagesUpdatedFlow.tryEmit(Unit)
+        itemCount -= PAGE_SIZE
+        blackhole.consume(host.layoutSwitchCount)
+    }
+
+    /** The list is refreshed with the same count of items. */
+    @Benchmark
+    fun refreshRoundTrip(blackhole: Blackhole) {
+        loadStateFlow.value = REFRESH_LOADING
+        loadStateFlow.value = IDLE
+        onPagesUpdatedFlow.tryEmit(Unit)
+        blackhole.consume(host.layoutSwitchCount)
+    }
+
+    private companion object {
+
+        const val PAGE_SIZE = 20
+
+        private val NOT_LOADING = LoadState.NotLoading(endOfPaginationReached = false)
+
+        val IDLE = combinedLoadStates(refresh = NOT_LOADING, append = NOT_LOADING)
+        val REFRESH_LOADING = combinedLoadStates(refresh = LoadState.Loading, append = NOT_LOADING)
+        val APPEND_LOADING = combinedLoadStates(refresh = NOT_LOADING, append = LoadState.Loading)
+
+        fun combinedLoadStates(refresh: LoadState, append: LoadState): CombinedLoadStates {
+            val source = LoadStates(refresh = refresh, prepend = NOT_LOADING, append = append)
+            return CombinedLoadStates(refresh = refresh, prepend = NOT_LOADING, append = append, source = source)
+        }
+
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.android.base.fragment.layout
+
+import android.view.ViewGroup
+import androidx.paging.LoadState
+import androidx.paging.PagingDataAdapter
+import androidx.recyclerview.widget.DiffUtil
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.android.base.fragment.list.paging3.DefaultPagingLoadMoreViewFactory
+import com.android.base.fragment.list.paging3.PagingLoadMoreViewViewHolder
+import org.junit.After
+import org.junit.Assert.assertFalse
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.annotation.Config
+
+/** The layout passes caused by binding the load states to the footer of [DefaultPagingLoadMoreViewFactory]. */
+@RunWith(AndroidJUnit4::class)
+@Config(sdk = [34])
+class FooterLayoutPassTest {
+
+    private lateinit var harness: LayoutPassHarness
+    private lateinit var footer: PagingLoadMoreViewViewHolder
+
+    private val pagingAdapter = StringPagingAdapter()
+
+    @Before
+    fun setUp() {
+        harness = LayoutPassHarness()
+        val parent = CountingFrameLayout(harness.root.context)
+        harness.root.addView(parent, ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT))
+        footer = DefaultPagingLoadMoreViewFactory().createPagingLoadMoreViewViewHolder(parent, LoadState.Loading)
+        parent.addView(footer.itemView)
+        harness.settle()
+    }
+
+    @After
+    fun tearDown() {
+        harness.close()
+    }
+
+    @Test
+    fun rebindingTheSameLoadStateTakesNoLayoutPass() {
+        val states = listOf(
+            LoadState.Loading,
+            LoadState.NotLoading(endOfPaginationReached = false),
+            LoadState.NotLoading(endOfPaginationReached = true),
+            LoadState.Error(IllegalStateException()),
+        )
+        for (state in states) {
+            bind(state)
+            harness.settle()
+
+            harness.assertLayoutPasses(0) {
+                bind(state)
+                assertFalse("layout requested by rebinding $state", footer.itemView.isLayoutRequested)
+            }
+        }
+    }
+
+    @Test
+    fun rebindingAnEqualLoadStateTakesNoLayoutPass() {
+        bind(LoadState.NotLoading(endOfPaginationReached = true))
+        harness.settle()
+
+        harness.assertLayoutPasses(0) {
+            bind(LoadState.NotLoading(endOfPaginationReached = true))
+            assertFalse(footer.itemView.isLayoutRequested)
+        }
+    }
+
+    private fun bind(state: LoadState) {
+        footer.handleLoadState(state, pagingAdapter)
+    }
+
+    private class StringPagingAdapter : PagingDataAdapter<String, TextAdapter.TextViewHolder>(StringDiffCallback) {
+
+        override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): TextAdapter.TextViewHolder {
+            throw UnsupportedOperationException()
+        }
+
+        override fun onBindViewHolder(holder: TextAdapter.TextViewHolder, position: Int) {
+            throw UnsupportedOperationException()
+        }
+
+    }
+
+    private object StringDiffCallback : DiffUtil.ItemCallback<String>() {
+
+        override fun areItemsTheSame(oldItem: String, newItem: String): Boolean = oldItem == newItem
+
+        override fun areContentsTheSame(oldItem: String, newItem: String): Boolean = oldItem == newItem
+
+    }
+
+}
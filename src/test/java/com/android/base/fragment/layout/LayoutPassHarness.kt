@@ -0,0 +1,206 @@
+package com.android.base.fragment.layout
+
+import android.app.Activity
+import android.content.Context
+import android.os.Looper
+import android.view.ContextThemeWrapper
+import android.view.ViewGroup
+import android.widget.FrameLayout
+import android.widget.TextView
+import androidx.recyclerview.widget.LinearLayoutManager
+import androidx.recyclerview.widget.RecyclerView
+import com.android.base.fragment.list.epoxy.buildListLayoutHost
+import com.android.base.fragment.list.segment.buildSegmentedListLayoutHost
+import com.android.base.fragment.state.buildStateLayoutHost
+import com.android.base.fragment.ui.AutoPaging
+import com.android.base.fragment.ui.ListDataHost
+import com.android.base.fragment.ui.ListLayoutHost
+import com.android.base.fragment.ui.SegmentedListDataHost
+import com.android.base.fragment.ui.SegmentedListLayoutHost
+import com.android.base.fragment.ui.StateLayoutHost
+import com.android.base.fragment.widget.ScrollChildSwipeRefreshLayout
+import com.android.base.fragment.widget.SimpleMultiStateLayout
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.robolectric.Robolectric
+import org.robolectric.Shadows.shadowOf
+import java.time.Duration
+
+/** Counts the measure and layout passes of the hierarchy below it. */
+class CountingFrameLayout(context: Context) : FrameLayout(context) {
+
+    var measureCount = 0
+        private set
+
+    var layoutCount = 0
+        private set
+
+    override fun onMeasure(widthMeasureSpec: Int, heightMeasureSpec: Int) {
+        measureCount++
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec)
+    }
+
+    override fun onLayout(changed: Boolean, left: Int, top: Int, right: Int, bottom: Int) {
+        layoutCount++
+        super.onLayout(changed, left, top, right, bottom)
+    }
+
+    fun reset() {
+        measureCount = 0
+        layoutCount = 0
+    }
+
+}
+
+/** Counts the measure passes of the list, to tell whether the content of a state layout is measured again. */
+class CountingRecyclerView(context: Context) : RecyclerView(context) {
+
+    var measureCount = 0
+        private set
+
+    override fun onMeasure(widthSpec: Int, heightSpec: Int) {
+        measureCount++
+        super.onMeasure(widthSpec, heightSpec)
+    }
+
+    fun reset() {
+        measureCount = 0
+    }
+
+}
+
+/** A list adapter that works as both kinds of data hosts, the item views have a fixed height. */
+class TextAdapter : RecyclerView.Adapter<TextAdapter.TextViewHolder>(), ListDataHost<String>, SegmentedListDataHost<String> {
+
+    private var items: List<String> = emptyList()
+
+    override fun submitData(data: List<String>) {
+        val oldSize = items.size
+        val appended = data.size > oldSize && data.subList(0, oldSize) == items
+        items = data
+        if (appended) {
+            notifyItemRangeInserted(oldSize, data.size - oldSize)
+        } else {
+            @Suppress("NotifyDataSetChanged")
+            notifyDataSetChanged()
+        }
+    }
+
+    override fun replaceData(data: List<String>) {
+        submitData(data)
+    }
+
+    override fun addData(data: List<String>) {
+        submitData(items + data)
+    }
+
+    override fun isEmpty(): Boolean = items.isEmpty()
+
+    override fun getListSize(): Int = items.size
+
+    override fun getItemCount(): Int = items.size
+
+    override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): TextViewHolder {
+        val view = TextView(parent.context)
+        view.layoutParams = RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ITEM_HEIGHT)
+        return TextViewHolder(view)
+    }
+
+    override fun onBindViewHolder(holder: TextViewHolder, position: Int) {
+        holder.textView.text = items[position]
+    }
+
+    class TextViewHolder(val textView: TextView) : RecyclerView.ViewHolder(textView)
+
+    private companion object {
+        const val ITEM_HEIGHT = 48
+    }
+
+}
+
+/**
+ * Builds `CountingFrameLayout > ScrollChildSwipeRefreshLayout > SimpleMultiStateLayout > RecyclerView` in an activity under
+ * Robolectric, and provides the hosts of the state and list handlers on it.
+ *
+ * @param stateLayoutAttributes the attributes set on the state layout in addition to its default style, for example,
+ * `R.attr.msl_switch_without_layout to "true"`.
+ */
+class LayoutPassHarness(vararg stateLayoutAttributes: Pair<Int, String>) {
+
+    private val activity: Activity = Robolectric.buildActivity(Activity::class.java).setup().get()
+
+    // the state views use AppCompat widgets.
+    private val context = ContextThemeWrapper(activity, androidx.appcompat.R.style.Theme_AppCompat_Light_NoActionBar)
+
+    val root = CountingFrameLayout(context)
+
+    val refreshLayout = ScrollChildSwipeRefreshLayout(context)
+
+    val stateLayout = SimpleMultiStateLayout(
+        context,
+        Robolectric.buildAttributeSet().setStyleAttribute("@style/Widget.BaseArch.SimpleMultiStateLayout").apply {
+            stateLayoutAttributes.forEach { (attribute, value) -> addAttribute(attribute, value) }
+        }.build()
+    )
+
+    val adapter = TextAdapter()
+
+    val recyclerView = CountingRecyclerView(context).apply {
+        layoutManager = LinearLayoutManager(context)
+        // the item animations are not the subject.
+        itemAnimator = null
+        adapter = this@LayoutPassHarness.adapter
+    }
+
+    /** The scope to collect the state flows, it runs on the main thread. */
+    val scope = CoroutineScope(SupervisorJob() + Dispatchers.Main.immediate)
+
+    val stateHost: StateLayoutHost by lazy { buildStateLayoutHost(stateLayout, refreshLayout) {} }
+
+    val listHost: ListLayoutHost<String> by lazy { buildListLayoutHost(adapter, null, stateLayout, refreshLayout) {} }
+
+    val segmentedListHost: SegmentedListLayoutHost<String, Int> by lazy {
+        buildSegmentedListLayoutHost(adapter, null, AutoPaging(), stateLayout, refreshLayout) {}
+    }
+
+    init {
+        stateLayout.addView(recyclerView, ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT))
+        refreshLayout.addView(stateLayout, ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT))
+        root.addView(refreshLayout, ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT))
+        activity.setContentView(root)
+        settle()
+    }
+
+    /** Run the pending tasks and the next frames, so that the requested layouts are done. */
+    fun settle() {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(SETTLE_MILLIS))
+    }
+
+    /** Asserts that [action] and the frames after it take at most [budget] measure passes and exactly [budget] layout passes. */
+    fun assertLayoutPasses(budget: Int, action: () -> Unit) {
+        settle()
+        root.reset()
+        action()
+        settle()
+        assertEquals("layout passes", budget, root.layoutCount)
+        assertTrue("measure passes: ${root.measureCount}, budget: $budget", root.measureCount <= budget)
+    }
+
+    fun close() {
+        scope.cancel()
+    }
+
+    private companion object {
+        /* a few frames. */
+        const val SETTLE_MILLIS = 50L
+    }
+
+}
+
+fun page(index: Int, size: Int = 20): List<String> {
+    return List(size) { "item ${index * size + it}" }
+}
@@ -0,0 +1,100 @@
+package com.android.base.fragment.layout
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.android.base.fragment.list.SimpleListState
+import com.android.base.fragment.list.handleListData
+import com.android.base.fragment.list.handleListStartRefresh
+import com.android.base.fragment.list.handleListState
+import com.android.base.fragment.state.DataState
+import com.android.base.fragment.state.SimpleDataState
+import com.android.base.fragment.state.handleFlowDataState
+import kotlinx.coroutines.flow.MutableStateFlow
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.annotation.Config
+
+/** The layout passes caused by the list and data handlers, the state switching and the list update share one pass. */
+@RunWith(AndroidJUnit4::class)
+@Config(sdk = [34])
+class ListLayoutPassTest {
+
+    private lateinit var harness: LayoutPassHarness
+
+    @Before
+    fun setUp() {
+        harness = LayoutPassHarness()
+    }
+
+    @After
+    fun tearDown() {
+        harness.close()
+    }
+
+    @Test
+    fun handleListState() {
+        val state = MutableStateFlow(SimpleListState<String>(isRefreshing = true))
+        with(harness.scope) {
+            harness.listHost.handleListState(state)
+        }
+
+        harness.assertLayoutPasses(1) {
+            state.value = state.value.replaceList(page(0), hasMore = true)
+        }
+        harness.assertLayoutPasses(1) {
+            state.value = state.value.toLoadingMore()
+            state.value = state.value.appendList(page(1), hasMore = true)
+        }
+        harness.assertLayoutPasses(0) {
+            state.value = state.value.copy(data = page(0) + page(1))
+        }
+    }
+
+    @Test
+    fun handleListData() {
+        val host = harness.segmentedListHost
+        host.handleListStartRefresh()
+
+        harness.assertLayoutPasses(1) {
+            host.handleListData(page(0))
+        }
+        harness.assertLayoutPasses(1) {
+            host.handleListData(page(1))
+        }
+    }
+
+    @Test
+    fun handleDataState() {
+        val state = MutableStateFlow<DataState<List<String>>>(SimpleDataState(isRefreshing = true))
+        var resultCount = 0
+        with(harness.scope) {
+            harness.stateHost.handleFlowDataState(state) {
+                onResult {
+                    resultCount++
+                    harness.adapter.replaceData(it)
+                }
+            }
+        }
+
+        val data = page(0)
+        harness.assertLayoutPasses(1) {
+            state.value = SimpleDataState(data = data)
+        }
+        assertEquals(1, resultCount)
+        // an equal state would be dropped by the StateFlow, this one is emitted and skipped by the handler.
+        harness.assertLayoutPasses(0) {
+            state.value = IdentityDataState(data)
+        }
+        assertEquals(1, resultCount)
+    }
+
+    /** A [DataState] without the data class equality, so that the [MutableStateFlow] emits every instance. */
+    private class IdentityDataState<T>(
+        override val data: T?,
+        override val isRefreshing: Boolean = false,
+        override val refreshError: Throwable? = null,
+    ) : DataState<T>
+
+}
@@ -0,0 +1,180 @@
+package com.android.base.fragment.layout
+
+import android.os.Looper
+import android.view.View
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.android.base.fragment.R
+import com.android.base.fragment.ui.StateLayoutConfig
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.Shadows.shadowOf
+import org.robolectric.annotation.Config
+import java.time.Duration
+
+/** The layout passes caused by switching the states of [com.android.base.fragment.widget.SimpleMultiStateLayout]. */
+@RunWith(AndroidJUnit4::class)
+@Config(sdk = [34])
+class StateLayoutPassTest {
+
+    private lateinit var harness: LayoutPassHarness
+
+    @Before
+    fun setUp() {
+        harness = LayoutPassHarness()
+    }
+
+    @After
+    fun tearDown() {
+        harness.close()
+    }
+
+    @Test
+    fun showContentAfterLoadingTakesOneLayoutPass() {
+        harness.stateLayout.showLoadingLayout()
+
+        harness.assertLayoutPasses(1) {
+            harness.stateLayout.showContentLayout()
+        }
+    }
+
+    @Test
+    fun repeatedCallsTakeNoLayoutPass() {
+        harness.stateLayout.showLoadingLayout()
+        harness.assertLayoutPasses(0) {
+            harness.stateLayout.showLoadingLayout()
+            harness.stateLayout.showLoadingLayout()
+        }
+
+        harness.stateLayout.showContentLayout()
+        harness.assertLayoutPasses(0) {
+            harness.stateLayout.showContentLayout()
+        }
+    }
+
+    @Test
+    fun switchingBetweenInflatedStatesTakesOneLayoutPass() {
+        harness.stateLayout.showEmptyLayout()
+        harness.settle()
+        harness.stateLayout.showErrorLayout()
+
+        harness.assertLayoutPasses(1) {
+            harness.stateLayout.showEmptyLayout()
+        }
+        harness.assertLayoutPasses(1) {
+            harness.stateLayout.showErrorLayout()
+        }
+    }
+
+    @Test
+    fun switchWithoutLayoutTakesNoLayoutPass() {
+        harness.close()
+        harness = LayoutPassHarness(R.attr.msl_switch_without_layout to "true")
+        // the first switch to LOADING adds the inflated loading view.
+        harness.stateLayout.showLoadingLayout()
+        harness.settle()
+        harness.stateLayout.showContentLayout()
+        harness.settle()
+        harness.recyclerView.reset()
+
+        harness.assertLayoutPasses(0) {
+            harness.stateLayout.showLoadingLayout()
+            harness.settle()
+            harness.stateLayout.showContentLayout()
+            harness.settle()
+            harness.stateLayout.showLoadingLayout()
+        }
+        assertEquals("content measure passes", 0, harness.recyclerView.measureCount)
+        assertEquals(View.INVISIBLE, harness.recyclerView.visibility)
+    }
+
+    @Test
+    fun keptMeasuredContentIsNotMeasuredAgain() {
+        assertEquals(0, contentMeasuresOfRefreshCycle(keepContentMeasured = true))
+    }
+
+    @Test
+    fun goneContentIsMeasuredAgain() {
+        assertTrue(contentMeasuresOfRefreshCycle(keepContentMeasured = false) > 0)
+    }
+
+    /** The measure passes of the content during a CONTENT → LOADING → CONTENT cycle, after the loading view is inflated. */
+    private fun contentMeasuresOfRefreshCycle(keepContentMeasured: Boolean): Int {
+        harness.adapter.submitData(page(0))
+        harness.stateLayout.setKeepContentMeasured(keepContentMeasured)
+        harness.stateLayout.showLoadingLayout()
+        harness.settle()
+        harness.stateLayout.showContentLayout()
+        harness.settle()
+
+        harness.recyclerView.reset()
+        harness.assertLayoutPasses(2) {
+            harness.stateLayout.showLoadingLayout()
+            harness.settle()
+            harness.stateLayout.showContentLayout()
+        }
+        return harness.recyclerView.measureCount
+    }
+
+    @Test
+    fun loadingFinishedWithinShowDelayIsNeverShown() {
+        harness.stateLayout.setLoadingDisplayPolicy(SHOW_DELAY, MIN_SHOW_TIME)
+        val childCount = harness.stateLayout.childCount
+
+        harness.assertLayoutPasses(0) {
+            harness.stateLayout.showLoadingLayout()
+            advance(SHOW_DELAY / 2)
+            harness.stateLayout.showContentLayout()
+            advance(SHOW_DELAY * 2)
+        }
+        assertEquals(StateLayoutConfig.CONTENT, harness.stateLayout.viewState)
+        // the loading view is neither inflated nor shown.
+        assertEquals(childCount, harness.stateLayout.childCount)
+        assertEquals(0, harness.stateLayout.stateMetrics.getEnterCount(StateLayoutConfig.LOADING))
+    }
+
+    @Test
+    fun contentIsDeferredUntilMinShowTimeHasElapsed() {
+        harness.stateLayout.setLoadingDisplayPolicy(SHOW_DELAY, MIN_SHOW_TIME)
+        harness.stateLayout.showLoadingLayout()
+        advance(SHOW_DELAY)
+        assertEquals(StateLayoutConfig.LOADING, harness.stateLayout.viewState)
+
+        harness.stateLayout.showContentLayout()
+        advance(MIN_SHOW_TIME / 2)
+        assertEquals(StateLayoutConfig.LOADING, harness.stateLayout.viewState)
+        assertEquals(StateLayoutConfig.CONTENT, harness.stateLayout.requestedViewState)
+
+        advance(MIN_SHOW_TIME / 2)
+        assertEquals(StateLayoutConfig.CONTENT, harness.stateLayout.viewState)
+    }
+
+    @Test
+    fun stateChangedWhileDetachedIsKeptAfterReattached() {
+        harness.stateLayout.showEmptyLayout()
+        harness.settle()
+
+        harness.root.removeView(harness.refreshLayout)
+        harness.stateLayout.showContentLayout()
+        harness.root.addView(harness.refreshLayout)
+        harness.settle()
+
+        assertEquals(StateLayoutConfig.CONTENT, harness.stateLayout.viewState)
+        assertEquals(View.VISIBLE, harness.recyclerView.visibility)
+        assertEquals(View.GONE, harness.stateLayout.getView(StateLayoutConfig.EMPTY)?.visibility)
+    }
+
+    /** Run the main thread until [millis] later, the uptime used by the display policy advances with it. */
+    private fun advance(millis: Long) {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(millis))
+    }
+
+    private companion object {
+        const val SHOW_DELAY = 500L
+        const val MIN_SHOW_TIME = 1000L
+    }
+
+}
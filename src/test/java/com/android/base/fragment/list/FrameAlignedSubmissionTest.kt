@@ -0,0 +1,114 @@
+package com.android.base.fragment.list
+
+import com.android.base.fragment.benchmark.FakeListLayoutHost
+import com.android.base.fragment.benchmark.Item
+import com.android.base.fragment.benchmark.items
+import com.android.base.fragment.tool.FrameClock
+import kotlinx.coroutines.CancellableContinuation
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.suspendCancellableCoroutine
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import kotlin.coroutines.resume
+
+/** [ListStateHandlerBuilder.submitDataPerFrame] driven by a fake [FrameClock] on the JVM. */
+class FrameAlignedSubmissionTest {
+
+    private val scope = CoroutineScope(Job() + Dispatchers.Unconfined)
+
+    private val host = FakeListLayoutHost<Item>()
+
+    private val frameClock = FakeFrameClock()
+
+    private val state = MutableStateFlow(SimpleListState<Item>())
+
+    @After
+    fun tearDown() {
+        scope.cancel()
+    }
+
+    @Test
+    fun submitsTheLatestListOncePerFrame() {
+        with(scope) {
+            host.handleListState(state) {
+                submitDataPerFrame(frameClock)
+            }
+        }
+
+        state.value = state.value.replaceList(items(0, 20), hasMore = true)
+        state.value = state.value.replaceList(items(0, 19), hasMore = true)
+        state.value = state.value.replaceList(items(0, 19, " updated"), hasMore = true)
+        assertEquals(0, host.submitCount)
+
+        frameClock.sendFrame()
+        assertEquals(1, host.submitCount)
+        assertEquals(19, host.getListSize())
+
+        state.value = state.value.appendList(items(19, 20), hasMore = false)
+        frameClock.sendFrame()
+        assertEquals(2, host.submitCount)
+        assertEquals(39, host.getListSize())
+    }
+
+    @Test
+    fun nothingIsSubmittedWithoutChangesInAFrame() {
+        with(scope) {
+            host.handleListState(state) {
+                submitDataPerFrame(frameClock)
+            }
+        }
+        frameClock.sendFrame()
+        assertEquals(1, host.submitCount)
+
+        frameClock.sendFrame()
+        frameClock.sendFrame()
+        assertEquals(1, host.submitCount)
+    }
+
+    @Test
+    fun submitsEveryListWhenDisabled() {
+        with(scope) {
+            host.handleListState(state)
+        }
+
+        state.value = state.value.replaceList(items(0, 20), hasMore = true)
+        state.value = state.value.replaceList(items(0, 19), hasMore = true)
+        state.value = state.value.replaceList(items(0, 19, " updated"), hasMore = true)
+
+        // the initial empty list and the three replaced lists.
+        assertEquals(4, host.submitCount)
+    }
+
+    /** Frames are sent by the test, every waiting coroutine is resumed by a frame. */
+    private class FakeFrameClock : FrameClock {
+
+        private var waiters = ArrayList<CancellableContinuation<Long>>()
+
+        private var frameTimeNanos = 0L
+
+        override suspend fun awaitFrame(): Long {
+            return suspendCancellableCoroutine { continuation ->
+                waiters.add(continuation)
+                continuation.invokeOnCancellation { waiters.remove(continuation) }
+            }
+        }
+
+        fun sendFrame() {
+            frameTimeNanos += FRAME_NANOS
+            val resumed = waiters
+            waiters = ArrayList()
+            resumed.forEach { it.resume(frameTimeNanos) }
+        }
+
+        private companion object {
+            const val FRAME_NANOS = 16_666_667L
+        }
+
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.android.base.fragment.list.paging3
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+@ChangePayloads
+data class Post(
+    val id: Long,
+    val likeCount: Int,
+    val avatar: String,
+    val content: String,
+)
+
+@ChangePayloads(id = "key")
+internal data class Tag(val key: String, val name: String)
+
+/** The callbacks generated by the payload processor. */
+class ChangePayloadsTest {
+
+    private val post = Post(1, likeCount = 10, avatar = "a.png", content = "hello")
+
+    @Test
+    fun theIdIsNotFlagged() {
+        assertEquals(1, PostDiffCallback.LIKE_COUNT)
+        assertEquals(2, PostDiffCallback.AVATAR)
+        assertEquals(4, PostDiffCallback.CONTENT)
+    }
+
+    @Test
+    fun itemsAreIdentifiedByTheId() {
+        assertTrue(PostDiffCallback.areItemsTheSame(post, post.copy(content = "world")))
+        assertFalse(PostDiffCallback.areItemsTheSame(post, post.copy(id = 2)))
+        assertTrue(TagDiffCallback.areItemsTheSame(Tag("k", "a"), Tag("k", "b")))
+    }
+
+    @Test
+    fun everyChangedPropertyIsFlagged() {
+        val changed = post.copy(likeCount = 11, content = "world")
+
+        assertFalse(PostDiffCallback.areContentsTheSame(post, changed))
+        val mask = listOf(PostDiffCallback.getChangePayload(post, changed)!!).changedPropertiesMask()
+        assertTrue(mask.isPropertyChanged(PostDiffCallback.LIKE_COUNT))
+        assertFalse(mask.isPropertyChanged(PostDiffCallback.AVATAR))
+        assertTrue(mask.isPropertyChanged(PostDiffCallback.CONTENT))
+    }
+
+    @Test
+    fun noPayloadWithoutChanges() {
+        assertTrue(PostDiffCallback.areContentsTheSame(post, post.copy()))
+        assertNull(PostDiffCallback.getChangePayload(post, post.copy()))
+    }
+
+    @Test
+    fun payloadsOfSeveralUpdatesAreMerged() {
+        val payloads = listOf<Any>(PostDiffCallback.LIKE_COUNT, PostDiffCallback.AVATAR)
+        assertEquals(PostDiffCallback.LIKE_COUNT or PostDiffCallback.AVATAR, payloads.changedPropertiesMask())
+        assertEquals(ALL_PROPERTIES_CHANGED, emptyList<Any>().changedPropertiesMask())
+    }
+
+}